@@ -1,11 +1,21 @@
 package com.mskplugins.mskills;
 
 import com.mskplugins.mskills.command.CommandManager;
+import com.mskplugins.mskills.listener.CombatWarmUpListener;
+import com.mskplugins.mskills.listener.PlayerConnectionListener;
 import com.mskplugins.mskills.listener.PlayerDeathListener;
 import com.mskplugins.mskills.manager.*;
+import com.mskplugins.mskills.reward.RewardActionSet;
+import com.mskplugins.mskills.reward.RewardAggregator;
 import com.mskplugins.mskills.util.TextUtils;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -23,8 +33,18 @@ public class KillRewardPlugin extends JavaPlugin {
     private CommandManager commandManager;
     private SettingsManager settingsManager;
 
+    private CooldownPurgeTask purgeTask;
+    private BukkitTask purgeTaskHandle;
+    private BukkitTask cacheCleanupTaskHandle;
+
     // Thread pool for async operations
     private ExecutorService asyncExecutor;
+    private boolean virtualThreads;
+    private KillLanes killLanes;
+    private MainThreadDispatcher mainThreadDispatcher;
+    private KillStreakTracker killStreakTracker;
+    private RewardActionSet rewardActionSet;
+    private RewardAggregator rewardAggregator;
 
     @Override
     public void onEnable() {
@@ -36,12 +56,15 @@ public class KillRewardPlugin extends JavaPlugin {
         // Save default config first
         saveDefaultConfig();
 
-        // Initialize thread pool
-        int threadCount = getConfig().getInt("performance.async-threads", 2);
-        this.asyncExecutor = Executors.newFixedThreadPool(threadCount);
-
-        // Initialize managers in correct order
+        // Initialize managers in correct order; the thread pool is sized from the config
         this.configManager = new ConfigManager(this);
+        TextUtils.setComponentCacheSize(configManager.getComponentCacheSize());
+        this.asyncExecutor = createAsyncExecutor();
+        this.mainThreadDispatcher = new MainThreadDispatcher(this);
+        this.killStreakTracker = new KillStreakTracker();
+        this.rewardActionSet = new RewardActionSet(this);
+        this.rewardAggregator = new RewardAggregator(this);
+        this.killLanes = new KillLanes(this, asyncExecutor, configManager.getKillLaneCount(), configManager.getKillLaneCapacity());
         this.messageManager = new MessageManager(this);
         this.databaseManager = new DatabaseManager(this);
         this.cooldownManager = new CooldownManager(this);
@@ -58,13 +81,31 @@ public class KillRewardPlugin extends JavaPlugin {
             try {
                 databaseManager.initialize();
                 getLogger().info("✓ Database initialized successfully");
+                cooldownManager.loadKnownPairs();
+                getServer().getScheduler().runTask(this, this::prefetchOnlinePlayers);
             } catch (Exception e) {
                 getLogger().severe("✗ Failed to initialize database: " + e.getMessage());
             }
         });
 
+        // Sweep expired cooldowns out of the caches
+        scheduleCacheCleanupTask();
+
+        // Delete expired cooldown rows from the database
+        this.purgeTask = new CooldownPurgeTask(this);
+        schedulePurgeTask();
+
+        // Reward commands and effects run from one per-tick task
+        mainThreadDispatcher.start();
+
+        // Compile rewards now; resolve commands and the economy once every plugin is enabled
+        rewardActionSet.load(configManager.getRewardActions(), configManager.getRewardCommands());
+        getServer().getScheduler().runTask(this, rewardActionSet::resolve);
+
         // Register events
         getServer().getPluginManager().registerEvents(new PlayerDeathListener(this), this);
+        getServer().getPluginManager().registerEvents(new PlayerConnectionListener(this), this);
+        getServer().getPluginManager().registerEvents(new CombatWarmUpListener(this), this);
 
         // Register commands
         commandManager.registerCommands();
@@ -72,6 +113,7 @@ public class KillRewardPlugin extends JavaPlugin {
         getLogger().info("✓ MSKills v" + getDescription().getVersion() + " enabled successfully!");
         getLogger().info("✓ Language: " + messageManager.getLanguage().toUpperCase());
         getLogger().info("✓ Time Format: " + configManager.getTimeFormat());
+        getLogger().info("✓ Async Executor: " + getAsyncExecutorDescription());
         getLogger().info("✓ MiniMessage: Enabled");
         getLogger().info("✓ PlaceholderAPI: " + (TextUtils.hasPlaceholderAPI() ? "Enabled" : "Not found"));
         getLogger().info("✓ Features: Rewards=" + configManager.isRewardEnabled() +
@@ -96,6 +138,19 @@ public class KillRewardPlugin extends JavaPlugin {
             }
         }
 
+        // Run rewards that were decided but not delivered yet, including batches still inside their window
+        if (rewardAggregator != null) {
+            rewardAggregator.flushAll();
+        }
+        if (mainThreadDispatcher != null) {
+            mainThreadDispatcher.shutdown();
+        }
+
+        // Drain write-behind cooldowns before the database goes away
+        if (cooldownManager != null) {
+            cooldownManager.shutdown();
+        }
+
         // Close database connection
         if (databaseManager != null) {
             databaseManager.close();
@@ -113,18 +168,93 @@ public class KillRewardPlugin extends JavaPlugin {
     public void reload() {
         // Reload configuration
         configManager.reload();
+        TextUtils.setComponentCacheSize(configManager.getComponentCacheSize());
 
         // Reload messages
         messageManager.reload();
 
+        // Recompile rewards
+        rewardActionSet.load(configManager.getRewardActions(), configManager.getRewardCommands());
+        rewardActionSet.resolve();
+
         // Clear cache
         cooldownManager.clearAllCache();
+        cooldownManager.reload();
+        prefetchOnlinePlayers();
+        scheduleCacheCleanupTask();
+        schedulePurgeTask();
 
         getLogger().info("✓ Plugin reloaded successfully!");
         getLogger().info("✓ Language: " + messageManager.getLanguage().toUpperCase());
         getLogger().info("✓ Time Format: " + configManager.getTimeFormat());
     }
 
+    /**
+     * Virtual thread per task when performance.executor is virtual and the JVM has them (Java 21+),
+     * otherwise a fixed pool of performance.async-threads platform threads
+     */
+    private ExecutorService createAsyncExecutor() {
+        if (configManager.getExecutorMode().equals("virtual")) {
+            try {
+                // Looked up reflectively so the plugin still loads on Java 17
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                ExecutorService executor = (ExecutorService) factory.invoke(null);
+                virtualThreads = true;
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                getLogger().warning("⏳ performance.executor is virtual but this JVM (" + System.getProperty("java.version") +
+                        ") has no virtual threads; using the platform thread pool");
+            }
+        }
+
+        int threadCount = Math.max(1, configManager.getAsyncThreads());
+        return Executors.newFixedThreadPool(threadCount);
+    }
+
+    /**
+     * Active async executor mode, for the startup log and /reward status
+     */
+    public String getAsyncExecutorDescription() {
+        if (virtualThreads) {
+            int permits = databaseManager != null ? databaseManager.getConnectionPermits() : 0;
+            return "virtual threads" + (permits > 0 ? " (" + permits + " database permits)" : "");
+        }
+        return "platform (" + Math.max(1, configManager.getAsyncThreads()) + " threads)";
+    }
+
+    /**
+     * (Re)schedule the expired cache entry sweep with the configured interval
+     */
+    private void scheduleCacheCleanupTask() {
+        if (cacheCleanupTaskHandle != null) {
+            cacheCleanupTaskHandle.cancel();
+        }
+        long cleanupTicks = configManager.getCacheCleanupInterval() * 20L;
+        cacheCleanupTaskHandle = getServer().getScheduler().runTaskTimerAsynchronously(this, cooldownManager::cleanUpCaches, cleanupTicks, cleanupTicks);
+    }
+
+    /**
+     * (Re)schedule the expired row purge with the configured interval
+     */
+    private void schedulePurgeTask() {
+        if (purgeTaskHandle != null) {
+            purgeTaskHandle.cancel();
+        }
+        long intervalTicks = configManager.getPurgeInterval() * 60L * 20L;
+        purgeTaskHandle = getServer().getScheduler().runTaskTimerAsynchronously(this, purgeTask, 20L * 60L, intervalTicks);
+    }
+
+    /**
+     * Warm the cooldown caches for players who joined before the plugin was (re)loaded
+     */
+    private void prefetchOnlinePlayers() {
+        List<UUID> playerUUIDs = new ArrayList<>();
+        for (Player player : getServer().getOnlinePlayers()) {
+            playerUUIDs.add(player.getUniqueId());
+        }
+        cooldownManager.prefetchPlayers(playerUUIDs);
+    }
+
     public static KillRewardPlugin getInstance() {
         return instance;
     }
@@ -133,8 +263,15 @@ public class KillRewardPlugin extends JavaPlugin {
     public ConfigManager getConfigManager() { return configManager; }
     public DatabaseManager getDatabaseManager() { return databaseManager; }
     public CooldownManager getCooldownManager() { return cooldownManager; }
+    public CooldownPurgeTask getPurgeTask() { return purgeTask; }
     public MessageManager getMessageManager() { return messageManager; }
     public EffectManager getEffectManager() { return effectManager; }
     public SettingsManager getSettingsManager() { return settingsManager; }
     public ExecutorService getAsyncExecutor() { return asyncExecutor; }
+    public boolean isVirtualThreadExecutor() { return virtualThreads; }
+    public KillLanes getKillLanes() { return killLanes; }
+    public MainThreadDispatcher getMainThreadDispatcher() { return mainThreadDispatcher; }
+    public KillStreakTracker getKillStreakTracker() { return killStreakTracker; }
+    public RewardActionSet getRewardActionSet() { return rewardActionSet; }
+    public RewardAggregator getRewardAggregator() { return rewardAggregator; }
 }
\ No newline at end of file
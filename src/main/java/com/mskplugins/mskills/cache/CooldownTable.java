@@ -0,0 +1,659 @@
+package com.mskplugins.mskills.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent open-addressing hash table keyed on four longs with primitive long values.
+ * Built for UUID keys (two longs per UUID), so lookups never allocate a key object
+ * and entries are stored in flat arrays instead of boxed map nodes.
+ *
+ * The table is split into segments, each guarded by a {@link StampedLock}.
+ * Reads use an optimistic stamp and only fall back to a read lock on contention.
+ *
+ * The table can be bounded. Expired entries (per the {@link ExpiryPolicy}) are dropped first;
+ * otherwise a sampled victim with the lowest TinyLFU frequency estimate is evicted. Values loaded
+ * from storage only replace the victim if they are accessed more often (admission filter), while
+ * explicit writes are always admitted.
+ */
+public class CooldownTable {
+
+    /**
+     * Returned by lookups when the key is not present
+     */
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final int SEGMENT_SHIFT = 28;
+    private static final int SEGMENT_COUNT = 1 << (32 - SEGMENT_SHIFT);
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int KEY_WIDTH = 4;
+    private static final int EVICTION_SAMPLE = 8;
+
+    /**
+     * Rough heap cost of one entry: four key longs, one value long and the used flag at 75% load
+     */
+    public static final int ESTIMATED_BYTES_PER_ENTRY = 56;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private volatile ExpiryPolicy expiryPolicy = (value, now) -> false;
+    private volatile EntryListener entryListener;
+    private volatile long maximumSize;
+    private volatile int segmentBudget = Integer.MAX_VALUE;
+    private volatile FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public CooldownTable() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Bound the table to roughly this many entries; 0 or less means unbounded
+     */
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = Math.max(0L, maximumSize);
+        if (this.maximumSize == 0L) {
+            this.segmentBudget = Integer.MAX_VALUE;
+            this.sketch = null;
+        } else {
+            this.segmentBudget = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (this.maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT));
+            this.sketch = new FrequencySketch(this.maximumSize);
+        }
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setExpiryPolicy(ExpiryPolicy expiryPolicy) {
+        this.expiryPolicy = expiryPolicy;
+    }
+
+    /**
+     * Observe keys entering and leaving the table, including evictions. Callbacks run under the
+     * segment write lock, so they must be quick and must not call back into this table.
+     */
+    public void setEntryListener(EntryListener entryListener) {
+        this.entryListener = entryListener;
+    }
+
+    /**
+     * Get the value for a key, or {@link #NO_VALUE} if absent
+     */
+    public long get(long k1, long k2, long k3, long k4) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        FrequencySketch frequencies = sketch;
+        if (frequencies != null) {
+            frequencies.increment(hash);
+        }
+
+        long stamp = segment.lock.tryOptimisticRead();
+        long value = find(segment.table, hash, k1, k2, k3, k4);
+        if (!segment.lock.validate(stamp)) {
+            stamp = segment.lock.readLock();
+            try {
+                value = find(segment.table, hash, k1, k2, k3, k4);
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+
+        if (value == NO_VALUE) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Insert or overwrite the value for a key. Always admitted; evicts another entry if the table is full.
+     */
+    public void put(long k1, long k2, long k3, long k4, long value) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            if (segment.size >= segmentBudget && find(segment.table, hash, k1, k2, k3, k4) == NO_VALUE) {
+                makeRoom(segment, hash, true);
+            }
+            if (segment.put(hash, k1, k2, k3, k4, value)) {
+                notifyAdded(k1, k2, k3, k4);
+            }
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Insert the value, or raise the existing value if it is smaller. Always admitted like {@link #put}.
+     */
+    public void putMax(long k1, long k2, long k3, long k4, long value) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            long existing = find(segment.table, hash, k1, k2, k3, k4);
+            if (existing == NO_VALUE) {
+                if (segment.size >= segmentBudget) {
+                    makeRoom(segment, hash, true);
+                }
+                segment.put(hash, k1, k2, k3, k4, value);
+                notifyAdded(k1, k2, k3, k4);
+            } else if (value > existing) {
+                segment.put(hash, k1, k2, k3, k4, value);
+            }
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Insert the value only if the key is absent. When the table is full the value goes through the
+     * frequency admission filter and may be dropped.
+     * Returns the existing value, or {@link #NO_VALUE} if there was none.
+     */
+    public long putIfAbsent(long k1, long k2, long k3, long k4, long value) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            long existing = find(segment.table, hash, k1, k2, k3, k4);
+            if (existing == NO_VALUE && (segment.size < segmentBudget || makeRoom(segment, hash, false))) {
+                segment.put(hash, k1, k2, k3, k4, value);
+                notifyAdded(k1, k2, k3, k4);
+            }
+            return existing;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Set the value only if the key currently maps to expected ({@link #NO_VALUE} meaning absent).
+     * Decided under the segment write lock, so of several racing callers expecting the same value
+     * exactly one wins. Returns the value found, which equals expected on success; a successful
+     * insert is always admitted like {@link #put}.
+     */
+    public long compareAndExchange(long k1, long k2, long k3, long k4, long expected, long value) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            long existing = find(segment.table, hash, k1, k2, k3, k4);
+            if (existing != expected) {
+                return existing;
+            }
+            if (existing == NO_VALUE && segment.size >= segmentBudget) {
+                makeRoom(segment, hash, true);
+            }
+            if (segment.put(hash, k1, k2, k3, k4, value)) {
+                notifyAdded(k1, k2, k3, k4);
+            }
+            return existing;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Evict one entry from a full segment. Expired entries go first; otherwise the least
+     * frequently used of a small random sample, which a non-forced candidate must beat.
+     * Caller holds the segment write lock.
+     */
+    private boolean makeRoom(Segment segment, int candidateHash, boolean force) {
+        Table t = segment.table;
+        long now = System.currentTimeMillis();
+        ExpiryPolicy policy = expiryPolicy;
+        FrequencySketch frequencies = sketch;
+
+        int victim = -1;
+        int victimFrequency = Integer.MAX_VALUE;
+        int sampled = 0;
+        int slot = ThreadLocalRandom.current().nextInt(t.capacity());
+        for (int probes = 0; probes < t.capacity() && sampled < EVICTION_SAMPLE; probes++, slot = (slot + 1) & t.mask) {
+            if (!t.used[slot]) {
+                continue;
+            }
+            sampled++;
+
+            if (policy.isExpired(t.values[slot], now)) {
+                notifyRemoved(t, slot);
+                segment.removeSlot(t, slot);
+                expirations.increment();
+                return true;
+            }
+
+            int base = slot * KEY_WIDTH;
+            int frequency = frequencies == null ? 0
+                    : frequencies.frequency(hash(t.keys[base], t.keys[base + 1], t.keys[base + 2], t.keys[base + 3]));
+            if (frequency < victimFrequency) {
+                victim = slot;
+                victimFrequency = frequency;
+            }
+        }
+
+        if (victim < 0) {
+            return true;
+        }
+        if (!force && frequencies != null && frequencies.frequency(candidateHash) <= victimFrequency) {
+            return false;
+        }
+
+        notifyRemoved(t, victim);
+        segment.removeSlot(t, victim);
+        evictions.increment();
+        return true;
+    }
+
+    /**
+     * Drop every expired entry, returning how many were removed
+     */
+    public int cleanUp() {
+        long now = System.currentTimeMillis();
+        ExpiryPolicy policy = expiryPolicy;
+        int removed = removeIf((k1, k2, k3, k4, value) -> policy.isExpired(value, now));
+        expirations.add(removed);
+        return removed;
+    }
+
+    /**
+     * Remove a key, returning its previous value or {@link #NO_VALUE}
+     */
+    public long remove(long k1, long k2, long k3, long k4) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            long previous = segment.remove(hash, k1, k2, k3, k4);
+            if (previous != NO_VALUE) {
+                notifyRemoved(k1, k2, k3, k4, previous);
+            }
+            return previous;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the key only if it currently maps to expected, decided under the segment write lock.
+     * Returns the value found, which equals expected on success, or {@link #NO_VALUE} if absent.
+     */
+    public long compareAndRemove(long k1, long k2, long k3, long k4, long expected) {
+        int hash = hash(k1, k2, k3, k4);
+        Segment segment = segmentFor(hash);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            long existing = find(segment.table, hash, k1, k2, k3, k4);
+            if (existing != expected || existing == NO_VALUE) {
+                return existing;
+            }
+            segment.remove(hash, k1, k2, k3, k4);
+            notifyRemoved(k1, k2, k3, k4, existing);
+            return existing;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove every entry matching the predicate
+     */
+    public int removeIf(EntryPredicate predicate) {
+        EntryPredicate filter = predicate;
+        if (entryListener != null) {
+            filter = (k1, k2, k3, k4, value) -> {
+                if (predicate.test(k1, k2, k3, k4, value)) {
+                    notifyRemoved(k1, k2, k3, k4, value);
+                    return true;
+                }
+                return false;
+            };
+        }
+
+        int removed = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.writeLock();
+            try {
+                removed += segment.removeIf(filter);
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Visit every entry. Each segment is read under its read lock, so the view is consistent per segment only.
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                Table t = segment.table;
+                for (int slot = 0; slot < t.capacity(); slot++) {
+                    if (t.used[slot]) {
+                        int base = slot * KEY_WIDTH;
+                        visitor.accept(t.keys[base], t.keys[base + 1], t.keys[base + 2], t.keys[base + 3], t.values[slot]);
+                    }
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    public void clear() {
+        EntryListener listener = entryListener;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.writeLock();
+            try {
+                if (listener != null) {
+                    Table t = segment.table;
+                    for (int slot = 0; slot < t.capacity(); slot++) {
+                        if (t.used[slot]) {
+                            notifyRemoved(t, slot);
+                        }
+                    }
+                }
+                segment.table = new Table(INITIAL_CAPACITY);
+                segment.size = 0;
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private void notifyAdded(long k1, long k2, long k3, long k4) {
+        EntryListener listener = entryListener;
+        if (listener != null) {
+            listener.onAdded(k1, k2, k3, k4);
+        }
+    }
+
+    private void notifyRemoved(long k1, long k2, long k3, long k4, long value) {
+        EntryListener listener = entryListener;
+        if (listener != null) {
+            listener.onRemoved(k1, k2, k3, k4, value);
+        }
+    }
+
+    private void notifyRemoved(Table t, int slot) {
+        int base = slot * KEY_WIDTH;
+        notifyRemoved(t.keys[base], t.keys[base + 1], t.keys[base + 2], t.keys[base + 3], t.values[slot]);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpiredCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * Hit rate as a percentage, 0 when there have been no lookups
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : hitCount * 100.0 / total;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    private static long find(Table table, int hash, long k1, long k2, long k3, long k4) {
+        int mask = table.mask;
+        int slot = hash & mask;
+        // Bounded probe so a racy optimistic read can never spin forever
+        for (int probes = 0; probes <= mask; probes++) {
+            if (!table.used[slot]) {
+                return NO_VALUE;
+            }
+            if (table.matches(slot, k1, k2, k3, k4)) {
+                return table.values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    static int hash(long k1, long k2, long k3, long k4) {
+        long h = k1;
+        h = h * 0x9E3779B97F4A7C15L + k2;
+        h = h * 0x9E3779B97F4A7C15L + k3;
+        h = h * 0x9E3779B97F4A7C15L + k4;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Decides whether a stored value is dead and may be dropped
+     */
+    @FunctionalInterface
+    public interface ExpiryPolicy {
+        boolean isExpired(long value, long now);
+    }
+
+    /**
+     * Callback over table entries; the key is passed as its four long parts
+     */
+    @FunctionalInterface
+    public interface EntryPredicate {
+        boolean test(long k1, long k2, long k3, long k4, long value);
+    }
+
+    /**
+     * Callback for {@link #forEach(EntryVisitor)}
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void accept(long k1, long k2, long k3, long k4, long value);
+    }
+
+    /**
+     * Notified when a key is inserted or leaves the table for any reason
+     */
+    public interface EntryListener {
+        void onAdded(long k1, long k2, long k3, long k4);
+
+        void onRemoved(long k1, long k2, long k3, long k4, long value);
+    }
+
+    private static final class Segment {
+        final StampedLock lock = new StampedLock();
+        Table table = new Table(INITIAL_CAPACITY);
+        int size;
+
+        /**
+         * Returns true if the key was newly inserted, false if an existing value was overwritten
+         */
+        boolean put(int hash, long k1, long k2, long k3, long k4, long value) {
+            Table t = table;
+            int slot = hash & t.mask;
+            while (t.used[slot]) {
+                if (t.matches(slot, k1, k2, k3, k4)) {
+                    t.values[slot] = value;
+                    return false;
+                }
+                slot = (slot + 1) & t.mask;
+            }
+
+            t.set(slot, k1, k2, k3, k4, value);
+            size++;
+
+            if (size > t.threshold) {
+                resize(t.capacity() << 1);
+            }
+            return true;
+        }
+
+        long remove(int hash, long k1, long k2, long k3, long k4) {
+            Table t = table;
+            int slot = hash & t.mask;
+            while (t.used[slot]) {
+                if (t.matches(slot, k1, k2, k3, k4)) {
+                    long previous = t.values[slot];
+                    removeSlot(t, slot);
+                    return previous;
+                }
+                slot = (slot + 1) & t.mask;
+            }
+            return NO_VALUE;
+        }
+
+        int removeIf(EntryPredicate predicate) {
+            Table t = table;
+            Table rebuilt = new Table(t.capacity());
+            int removed = 0;
+            for (int slot = 0; slot < t.capacity(); slot++) {
+                if (!t.used[slot]) {
+                    continue;
+                }
+                int base = slot * KEY_WIDTH;
+                long k1 = t.keys[base], k2 = t.keys[base + 1], k3 = t.keys[base + 2], k4 = t.keys[base + 3];
+                if (predicate.test(k1, k2, k3, k4, t.values[slot])) {
+                    removed++;
+                } else {
+                    rebuilt.insertFresh(hash(k1, k2, k3, k4), k1, k2, k3, k4, t.values[slot]);
+                }
+            }
+            if (removed > 0) {
+                table = rebuilt;
+                size -= removed;
+            }
+            return removed;
+        }
+
+        void removeSlot(Table t, int slot) {
+            deleteSlot(t, slot);
+            size--;
+        }
+
+        /**
+         * Backward-shift deletion keeps probe chains intact without tombstones
+         */
+        private void deleteSlot(Table t, int slot) {
+            int mask = t.mask;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (t.used[next]) {
+                int base = next * KEY_WIDTH;
+                int home = hash(t.keys[base], t.keys[base + 1], t.keys[base + 2], t.keys[base + 3]) & mask;
+                boolean stays = hole <= next
+                        ? (hole < home && home <= next)
+                        : (hole < home || home <= next);
+                if (!stays) {
+                    t.copy(next, hole);
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            t.used[hole] = false;
+        }
+
+        private void resize(int capacity) {
+            Table old = table;
+            Table resized = new Table(capacity);
+            for (int slot = 0; slot < old.capacity(); slot++) {
+                if (old.used[slot]) {
+                    int base = slot * KEY_WIDTH;
+                    long k1 = old.keys[base], k2 = old.keys[base + 1], k3 = old.keys[base + 2], k4 = old.keys[base + 3];
+                    resized.insertFresh(hash(k1, k2, k3, k4), k1, k2, k3, k4, old.values[slot]);
+                }
+            }
+            table = resized;
+        }
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final long[] values;
+        final boolean[] used;
+        final int mask;
+        final int threshold;
+
+        Table(int capacity) {
+            this.keys = new long[capacity * KEY_WIDTH];
+            this.values = new long[capacity];
+            this.used = new boolean[capacity];
+            this.mask = capacity - 1;
+            this.threshold = (capacity * 3) >>> 2;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        boolean matches(int slot, long k1, long k2, long k3, long k4) {
+            int base = slot * KEY_WIDTH;
+            return keys[base] == k1 && keys[base + 1] == k2 && keys[base + 2] == k3 && keys[base + 3] == k4;
+        }
+
+        void set(int slot, long k1, long k2, long k3, long k4, long value) {
+            int base = slot * KEY_WIDTH;
+            keys[base] = k1;
+            keys[base + 1] = k2;
+            keys[base + 2] = k3;
+            keys[base + 3] = k4;
+            values[slot] = value;
+            used[slot] = true;
+        }
+
+        void copy(int from, int to) {
+            System.arraycopy(keys, from * KEY_WIDTH, keys, to * KEY_WIDTH, KEY_WIDTH);
+            values[to] = values[from];
+            used[to] = true;
+        }
+
+        void insertFresh(int hash, long k1, long k2, long k3, long k4, long value) {
+            int slot = hash & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            set(slot, k1, k2, k3, k4, value);
+        }
+    }
+}
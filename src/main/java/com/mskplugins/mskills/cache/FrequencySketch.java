@@ -0,0 +1,74 @@
+package com.mskplugins.mskills.cache;
+
+/**
+ * Count-min sketch with 4-bit counters used to estimate how often a key has been accessed
+ * (the TinyLFU admission filter). Counters are halved once enough increments have been
+ * recorded, so old popularity fades out.
+ *
+ * Updates are deliberately unsynchronised: a lost increment only makes the estimate a little
+ * less accurate, which is cheaper than putting a lock or CAS on every cache read.
+ */
+final class FrequencySketch {
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long maximumSize) {
+        int size = (int) Math.min(1 << 24, Math.max(64, Long.highestOneBit(Math.max(1L, maximumSize) - 1) << 1));
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, Math.max(640L, maximumSize * 10L));
+    }
+
+    /**
+     * Estimated number of accesses for the hash, 0..15
+     */
+    int frequency(int hash) {
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(hash, i);
+            long word = table[(int) (h & tableMask)];
+            int offset = (int) ((h >>> 40) & 15L) << 2;
+            frequency = Math.min(frequency, (int) ((word >>> offset) & 0xFL));
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(hash, i);
+            int index = (int) (h & tableMask);
+            int offset = (int) ((h >>> 40) & 15L) << 2;
+            long word = table[index];
+            if (((word >>> offset) & 0xFL) != 0xFL) {
+                table[index] = word + (1L << offset);
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static long spread(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return h;
+    }
+}
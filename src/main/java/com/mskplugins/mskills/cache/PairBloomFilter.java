@@ -0,0 +1,103 @@
+package com.mskplugins.mskills.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over (killer, victim) UUID pairs, keyed on the four UUID halves.
+ * A negative answer means the pair has definitely never been recorded; a positive answer
+ * means "maybe" and has to be confirmed against the cache or database.
+ */
+public class PairBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * Size the filter for the expected number of pairs and a target false positive rate
+     */
+    public PairBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long expected = Math.max(1024L, expectedInsertions);
+        double fpp = Math.min(0.5, Math.max(1.0E-6, falsePositiveRate));
+
+        long bits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        this.expectedInsertions = expected;
+    }
+
+    public void put(long k1, long k2, long k3, long k4) {
+        long h1 = mix(k1, k2, k3, k4, 0x9E3779B97F4A7C15L);
+        long h2 = mix(k1, k2, k3, k4, 0xC2B2AE3D27D4EB4FL) | 1L;
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = bits.get(word);
+            }
+        }
+        // A pair that set no new bit was (probably) already in the filter and does not use up capacity
+        if (changed) {
+            insertions.increment();
+        }
+    }
+
+    public boolean mightContain(long k1, long k2, long k3, long k4) {
+        long h1 = mix(k1, k2, k3, k4, 0x9E3779B97F4A7C15L);
+        long h2 = mix(k1, k2, k3, k4, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Distinct pairs put so far, approximately: puts that set at least one new bit
+     */
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * True once more pairs went in than the filter was sized for, so its false positive rate is above target
+     */
+    public boolean isSaturated() {
+        return insertions.sum() > expectedInsertions;
+    }
+
+    private static long mix(long k1, long k2, long k3, long k4, long seed) {
+        long h = seed;
+        h = (h ^ k1) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ k2) * 0xC4CEB9FE1A85EC53L;
+        h = (h ^ k3) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ k4) * 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
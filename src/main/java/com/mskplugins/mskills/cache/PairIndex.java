@@ -0,0 +1,71 @@
+package com.mskplugins.mskills.cache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Killer→victims and victim→killers index over the keys of a (killer, victim) {@link CooldownTable}.
+ * Attached as the table's {@link CooldownTable.EntryListener}, so inserts, removals and evictions
+ * keep it in sync, and all entries of one player can be found without scanning the table.
+ */
+public class PairIndex implements CooldownTable.EntryListener {
+
+    private final ConcurrentMap<UUID, Set<UUID>> victimsByKiller = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Set<UUID>> killersByVictim = new ConcurrentHashMap<>();
+
+    @Override
+    public void onAdded(long killerMsb, long killerLsb, long victimMsb, long victimLsb) {
+        UUID killerUUID = new UUID(killerMsb, killerLsb);
+        UUID victimUUID = new UUID(victimMsb, victimLsb);
+        link(victimsByKiller, killerUUID, victimUUID);
+        link(killersByVictim, victimUUID, killerUUID);
+    }
+
+    @Override
+    public void onRemoved(long killerMsb, long killerLsb, long victimMsb, long victimLsb, long value) {
+        UUID killerUUID = new UUID(killerMsb, killerLsb);
+        UUID victimUUID = new UUID(victimMsb, victimLsb);
+        unlink(victimsByKiller, killerUUID, victimUUID);
+        unlink(killersByVictim, victimUUID, killerUUID);
+    }
+
+    /**
+     * Victims cached for this killer. The set is live and weakly consistent; it is safe to
+     * remove the matching table entries while iterating it.
+     */
+    public Set<UUID> getVictims(UUID killerUUID) {
+        return victimsByKiller.getOrDefault(killerUUID, Collections.emptySet());
+    }
+
+    /**
+     * Killers cached against this victim, with the same semantics as {@link #getVictims(UUID)}
+     */
+    public Set<UUID> getKillers(UUID victimUUID) {
+        return killersByVictim.getOrDefault(victimUUID, Collections.emptySet());
+    }
+
+    public int getIndexedPlayerCount() {
+        return victimsByKiller.size() + killersByVictim.size();
+    }
+
+    private static void link(ConcurrentMap<UUID, Set<UUID>> index, UUID owner, UUID other) {
+        index.compute(owner, (key, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+            }
+            set.add(other);
+            return set;
+        });
+    }
+
+    private static void unlink(ConcurrentMap<UUID, Set<UUID>> index, UUID owner, UUID other) {
+        // compute keeps "remove the last element" and "drop the empty set" atomic against link()
+        index.computeIfPresent(owner, (key, set) -> {
+            set.remove(other);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.mskplugins.mskills.command;
 
 import com.mskplugins.mskills.KillRewardPlugin;
 import com.mskplugins.mskills.manager.*;
+import com.mskplugins.mskills.util.TextBenchmark;
 import com.mskplugins.mskills.util.TextUtils;
 import com.mskplugins.mskills.util.TimeFormatter;
 import org.bukkit.Sound;
@@ -40,7 +41,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!sender.hasPermission("reward.admin")) {
-            TextUtils.sendMessage(sender, messageManager.getMessage("no-permission"));
+            messageManager.send(sender, MessageKey.NO_PERMISSION);
             return true;
         }
 
@@ -76,6 +77,9 @@ public class CommandManager implements CommandExecutor, TabCompleter {
             case "message":
                 handleMessage(sender, args);
                 break;
+            case "benchmark":
+                runBenchmark(sender, args);
+                break;
             case "help":
             default:
                 showHelp(sender);
@@ -87,7 +91,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
 
     private void reloadConfig(CommandSender sender) {
         plugin.reload();
-        TextUtils.sendMessage(sender, messageManager.getMessage("config-reloaded"));
+        messageManager.send(sender, MessageKey.CONFIG_RELOADED);
     }
 
     private void handleToggle(CommandSender sender, String[] args) {
@@ -99,32 +103,32 @@ public class CommandManager implements CommandExecutor, TabCompleter {
 
         String feature = args[1].toLowerCase();
         boolean newState;
-        String messageKey;
+        MessageKey messageKey;
 
         switch (feature) {
             case "rewards":
                 newState = settingsManager.toggleRewards();
-                messageKey = newState ? "rewards-enabled" : "rewards-disabled";
+                messageKey = newState ? MessageKey.REWARDS_ENABLED : MessageKey.REWARDS_DISABLED;
                 break;
             case "ipcheck":
                 newState = settingsManager.toggleIPCheck();
-                messageKey = newState ? "ip-check-enabled" : "ip-check-disabled";
+                messageKey = newState ? MessageKey.IP_CHECK_ENABLED : MessageKey.IP_CHECK_DISABLED;
                 break;
             case "cooldown":
                 newState = settingsManager.toggleCooldown();
-                messageKey = newState ? "cooldown-enabled" : "cooldown-disabled";
+                messageKey = newState ? MessageKey.COOLDOWN_ENABLED : MessageKey.COOLDOWN_DISABLED;
                 break;
             case "sound":
                 newState = settingsManager.toggleSound();
-                messageKey = newState ? "sound-enabled" : "sound-disabled";
+                messageKey = newState ? MessageKey.SOUND_ENABLED : MessageKey.SOUND_DISABLED;
                 break;
             case "actionbar":
                 newState = settingsManager.toggleActionBar();
-                messageKey = newState ? "actionbar-enabled" : "actionbar-disabled";
+                messageKey = newState ? MessageKey.ACTIONBAR_ENABLED : MessageKey.ACTIONBAR_DISABLED;
                 break;
             case "debug":
                 newState = settingsManager.toggleDebug();
-                messageKey = newState ? "debug-enabled" : "debug-disabled";
+                messageKey = newState ? MessageKey.DEBUG_ENABLED : MessageKey.DEBUG_DISABLED;
                 break;
             default:
                 TextUtils.sendMessage(sender, "&cUnknown feature: &e" + feature);
@@ -132,7 +136,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 return;
         }
 
-        TextUtils.sendMessage(sender, messageManager.getMessage(messageKey));
+        messageManager.send(sender, messageKey);
     }
 
     private void handleSet(CommandSender sender, String[] args) {
@@ -150,9 +154,9 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 try {
                     long cooldown = Long.parseLong(value);
                     settingsManager.setCooldownTime(cooldown);
-                    TextUtils.sendMessage(sender, messageManager.getMessage("cooldown-set", "%time%", TextUtils.formatTime(cooldown)));
+                    messageManager.send(sender, MessageKey.COOLDOWN_SET, TextUtils.formatTime(cooldown));
                 } catch (NumberFormatException e) {
-                    TextUtils.sendMessage(sender, messageManager.getMessage("invalid-number"));
+                    messageManager.send(sender, MessageKey.INVALID_NUMBER);
                 }
                 break;
 
@@ -160,38 +164,38 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 try {
                     long globalCooldown = Long.parseLong(value);
                     settingsManager.setGlobalCooldownTime(globalCooldown);
-                    TextUtils.sendMessage(sender, messageManager.getMessage("global-cooldown-set", "%time%", TextUtils.formatTime(globalCooldown)));
+                    messageManager.send(sender, MessageKey.GLOBAL_COOLDOWN_SET, TextUtils.formatTime(globalCooldown));
                 } catch (NumberFormatException e) {
-                    TextUtils.sendMessage(sender, messageManager.getMessage("invalid-number"));
+                    messageManager.send(sender, MessageKey.INVALID_NUMBER);
                 }
                 break;
 
             case "rewardsound":
                 settingsManager.setRewardSound(value);
-                TextUtils.sendMessage(sender, messageManager.getMessage("sound-set", "%sound%", value));
+                messageManager.send(sender, MessageKey.SOUND_SET, value);
                 break;
 
             case "deniedsound":
                 settingsManager.setDeniedSound(value);
-                TextUtils.sendMessage(sender, messageManager.getMessage("sound-set", "%sound%", value));
+                messageManager.send(sender, MessageKey.SOUND_SET, value);
                 break;
 
             case "rewardmessage":
                 settingsManager.setRewardActionBarMessage(value);
-                TextUtils.sendMessage(sender, messageManager.getMessage("actionbar-message-set"));
+                messageManager.send(sender, MessageKey.ACTIONBAR_MESSAGE_SET);
                 break;
 
             case "deniedmessage":
                 settingsManager.setDeniedActionBarMessage(value);
-                TextUtils.sendMessage(sender, messageManager.getMessage("actionbar-message-set"));
+                messageManager.send(sender, MessageKey.ACTIONBAR_MESSAGE_SET);
                 break;
 
             case "timeformat":
                 if (value.equalsIgnoreCase("default") || value.equalsIgnoreCase("compact") || value.equalsIgnoreCase("detailed")) {
                     settingsManager.setTimeFormat(value.toLowerCase());
-                    TextUtils.sendMessage(sender, messageManager.getMessage("time-format-set", "%format%", value));
+                    messageManager.send(sender, MessageKey.TIME_FORMAT_SET, value);
                 } else {
-                    TextUtils.sendMessage(sender, messageManager.getMessage("invalid-time-format"));
+                    messageManager.send(sender, MessageKey.INVALID_TIME_FORMAT);
                 }
                 break;
 
@@ -240,6 +244,99 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         TextUtils.sendMessage(sender, settingsManager.getStatus());
     }
 
+    private void runBenchmark(CommandSender sender, String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("text")) {
+            runTextBenchmark(sender, args);
+            return;
+        }
+        if (args.length > 1 && args[1].equalsIgnoreCase("mysql")) {
+            runMySQLBenchmark(sender, args);
+            return;
+        }
+
+        int operations = 2000;
+        if (args.length > 1) {
+            try {
+                operations = Math.max(100, Math.min(100_000, Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                messageManager.send(sender, MessageKey.INVALID_NUMBER);
+                return;
+            }
+        }
+
+        int count = operations;
+        TextUtils.sendMessage(sender, "&e⏳ Benchmarking storage backends with " + count + " operations each...");
+        plugin.getAsyncExecutor().execute(() -> {
+            List<String> lines = plugin.getDatabaseManager().runStoreBenchmark(count);
+            plugin.getServer().getScheduler().runTask(plugin, () -> lines.forEach(line -> TextUtils.sendMessage(sender, line)));
+        });
+    }
+
+    private void runMySQLBenchmark(CommandSender sender, String[] args) {
+        if (!plugin.getDatabaseManager().isMySQLStorage()) {
+            TextUtils.sendMessage(sender, "&c❌ The MySQL benchmark needs storage type mysql");
+            return;
+        }
+
+        int operations = 2000;
+        boolean confirmed = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("confirm")) {
+                confirmed = true;
+                continue;
+            }
+            try {
+                operations = Math.max(100, Math.min(100_000, Integer.parseInt(args[i])));
+            } catch (NumberFormatException e) {
+                messageManager.send(sender, MessageKey.INVALID_NUMBER);
+                return;
+            }
+        }
+
+        // It writes to the production database, so it never runs without an explicit confirm
+        if (!confirmed) {
+            TextUtils.sendMessage(sender, "&e⚙️ This runs " + operations + " operations against scratch tables on the live MySQL server. " +
+                    "Run &f/reward benchmark mysql " + operations + " confirm &eto continue.");
+            return;
+        }
+
+        int count = operations;
+        TextUtils.sendMessage(sender, "&e⏳ Benchmarking MySQL storage with " + count + " operations...");
+        plugin.getAsyncExecutor().execute(() -> {
+            List<String> lines = plugin.getDatabaseManager().runMySQLBenchmark(count);
+            plugin.getServer().getScheduler().runTask(plugin, () -> lines.forEach(line -> TextUtils.sendMessage(sender, line)));
+        });
+    }
+
+    private void runTextBenchmark(CommandSender sender, String[] args) {
+        int iterations = 20_000;
+        if (args.length > 2) {
+            try {
+                iterations = Math.max(1_000, Math.min(1_000_000, Integer.parseInt(args[2])));
+            } catch (NumberFormatException e) {
+                messageManager.send(sender, MessageKey.INVALID_NUMBER);
+                return;
+            }
+        }
+
+        int count = iterations;
+        TextUtils.sendMessage(sender, "&e⏳ Checking and benchmarking the legacy color translator with " + count + " iterations...");
+        plugin.getAsyncExecutor().execute(() -> {
+            List<String> lines = new ArrayList<>();
+            List<String> failures = TextBenchmark.runDifferential(count, System.nanoTime());
+            if (failures.isEmpty()) {
+                lines.add("&a✓ translator&7: matches the replace chain on " + count + " random inputs");
+            } else {
+                lines.add("&c❌ translator&7: " + failures.size() + " mismatches");
+                failures.forEach(failure -> plugin.getLogger().warning("❌ Translator mismatch: " + failure));
+            }
+            for (String line : TextBenchmark.runBenchmark(count)) {
+                lines.add("&7  " + line);
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> lines.forEach(line -> TextUtils.sendMessage(sender, line)));
+        });
+    }
+
     private void changeLanguage(CommandSender sender, String[] args) {
         if (args.length < 2) {
             TextUtils.sendMessage(sender, "&cUsage: /reward language <en|tr>");
@@ -250,9 +347,9 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         String language = args[1].toLowerCase();
         if (language.equals("en") || language.equals("tr")) {
             settingsManager.setLanguage(language);
-            TextUtils.sendMessage(sender, messageManager.getMessage("language-changed", "%language%", language.toUpperCase()));
+            messageManager.send(sender, MessageKey.LANGUAGE_CHANGED, language.toUpperCase());
         } else {
-            TextUtils.sendMessage(sender, messageManager.getMessage("invalid-language"));
+            messageManager.send(sender, MessageKey.INVALID_LANGUAGE);
         }
     }
 
@@ -264,30 +361,32 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         }
 
         String key = args[1].toLowerCase();
+        MessageKey messageKey = MessageKey.fromKey(key);
+        if (messageKey == null) {
+            TextUtils.sendMessage(sender, "&cUnknown message key: &e" + key);
+            return;
+        }
         String value = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
 
-        messageManager.setMessage(key, value);
+        messageManager.setMessage(messageKey, value);
         TextUtils.sendMessage(sender, "&aMessage &e" + key + " &aset to: &f" + value);
     }
 
     private void showHelp(CommandSender sender) {
-        TextUtils.sendMessage(sender, messageManager.getMessage("help-header"));
-        TextUtils.sendMessage(sender, formatHelp("/reward help", "Show this help menu"));
-        TextUtils.sendMessage(sender, formatHelp("/reward status", "Show current plugin status"));
-        TextUtils.sendMessage(sender, formatHelp("/reward reload", "Reload configuration"));
-        TextUtils.sendMessage(sender, formatHelp("/reward toggle <feature>", "Toggle features on/off"));
-        TextUtils.sendMessage(sender, formatHelp("/reward set <setting> <value>", "Change settings"));
-        TextUtils.sendMessage(sender, formatHelp("/reward test sound [sound]", "Test reward sounds"));
-        TextUtils.sendMessage(sender, formatHelp("/reward test actionbar [message]", "Test actionbar messages"));
-        TextUtils.sendMessage(sender, formatHelp("/reward clearcache", "Clear cooldown cache"));
-        TextUtils.sendMessage(sender, formatHelp("/reward language <en|tr>", "Change language"));
-        TextUtils.sendMessage(sender, formatHelp("/reward message <key> <value>", "Edit messages"));
-    }
-
-    private String formatHelp(String command, String description) {
-        return messageManager.getMessage("help-line")
-                .replace("%command%", command)
-                .replace("%description%", description);
+        messageManager.send(sender, MessageKey.HELP_HEADER);
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward help", "Show this help menu");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward status", "Show current plugin status");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward reload", "Reload configuration");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward toggle <feature>", "Toggle features on/off");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward set <setting> <value>", "Change settings");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward test sound [sound]", "Test reward sounds");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward test actionbar [message]", "Test actionbar messages");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward clearcache", "Clear cooldown cache");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward language <en|tr>", "Change language");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward message <key> <value>", "Edit messages");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward benchmark [operations]", "Check and benchmark local storage backends");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward benchmark mysql [operations] confirm", "Benchmark the live MySQL server");
+        messageManager.send(sender, MessageKey.HELP_LINE, "/reward benchmark text [iterations]", "Check and benchmark color code translation");
     }
 
     @Override
@@ -299,7 +398,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("reload", "toggle", "set", "test", "clearcache", "status", "language", "message", "help"));
+            completions.addAll(Arrays.asList("reload", "toggle", "set", "test", "clearcache", "status", "language", "message", "benchmark", "help"));
         } else if (args.length == 2) {
             switch (args[0].toLowerCase()) {
                 case "toggle":
@@ -311,12 +410,15 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 case "test":
                     completions.addAll(Arrays.asList("sound", "actionbar"));
                     break;
+                case "benchmark":
+                    completions.addAll(Arrays.asList("text", "mysql"));
+                    break;
                 case "language":
                     completions.addAll(Arrays.asList("en", "tr"));
                     break;
                 case "message":
                     // Show available message keys
-                    completions.addAll(messageManager.getMessages().keySet());
+                    completions.addAll(MessageKey.byKey().keySet());
                     break;
             }
         } else if (args.length == 3) {
@@ -0,0 +1,55 @@
+package com.mskplugins.mskills.listener;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.manager.ConfigManager;
+import com.mskplugins.mskills.manager.CooldownManager;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+/**
+ * Warms the cooldown caches while players fight, so the lookups in
+ * {@link PlayerDeathListener} are memory hits by the time someone dies.
+ */
+public class CombatWarmUpListener implements Listener {
+
+    private final ConfigManager configManager;
+    private final CooldownManager cooldownManager;
+
+    public CombatWarmUpListener(KillRewardPlugin plugin) {
+        this.configManager = plugin.getConfigManager();
+        this.cooldownManager = plugin.getCooldownManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerDamage(EntityDamageByEntityEvent event) {
+        if (!configManager.isCombatWarmUpEnabled() || !(event.getEntity() instanceof Player)) {
+            return;
+        }
+
+        Player attacker = getAttacker(event.getDamager());
+        Player victim = (Player) event.getEntity();
+        if (attacker == null || attacker.equals(victim)) {
+            return;
+        }
+
+        cooldownManager.warmUp(attacker.getUniqueId(), victim.getUniqueId());
+    }
+
+    /**
+     * The player behind the damage, including arrows, tridents and other projectiles
+     */
+    private Player getAttacker(Entity damager) {
+        if (damager instanceof Player) {
+            return (Player) damager;
+        }
+        if (damager instanceof Projectile && ((Projectile) damager).getShooter() instanceof Player) {
+            return (Player) ((Projectile) damager).getShooter();
+        }
+        return null;
+    }
+}
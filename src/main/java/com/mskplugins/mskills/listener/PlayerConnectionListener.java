@@ -0,0 +1,57 @@
+package com.mskplugins.mskills.listener;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.manager.ConfigManager;
+import com.mskplugins.mskills.manager.CooldownManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collections;
+
+public class PlayerConnectionListener implements Listener {
+
+    private final KillRewardPlugin plugin;
+    private final ConfigManager configManager;
+    private final CooldownManager cooldownManager;
+
+    public PlayerConnectionListener(KillRewardPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.cooldownManager = plugin.getCooldownManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        // Already off the main thread, so the prefetch query can run inline
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            cooldownManager.prefetchPlayer(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        // Covers logins that happened before the database finished initialising
+        Player player = event.getPlayer();
+        if (!cooldownManager.isPrefetched(player.getUniqueId())) {
+            cooldownManager.prefetchPlayers(Collections.singletonList(player.getUniqueId()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        // Cached cooldowns are reloaded from storage (or the write-behind queue) on the next lookup
+        Player player = event.getPlayer();
+        plugin.getKillStreakTracker().reset(player.getUniqueId());
+        boolean clearEntries = configManager.isCacheClearOnQuit();
+        cooldownManager.unloadPlayer(player.getUniqueId(), clearEntries);
+
+        if (clearEntries && configManager.isDebug()) {
+            plugin.getLogger().info("💾 Cleared cached cooldowns for " + player.getName());
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.mskplugins.mskills.listener;
 
 import com.mskplugins.mskills.KillRewardPlugin;
 import com.mskplugins.mskills.manager.*;
+import com.mskplugins.mskills.reward.RewardAction;
+import com.mskplugins.mskills.storage.CooldownTimes;
 import com.mskplugins.mskills.util.TimeFormatter;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -9,19 +11,22 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 
-import java.net.InetAddress;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 public class PlayerDeathListener implements Listener {
 
+    // Reused per lane thread when rendering reward command templates
+    private static final ThreadLocal<StringBuilder> COMMAND_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
     private final KillRewardPlugin plugin;
     private final ConfigManager configManager;
     private final DatabaseManager databaseManager;
     private final CooldownManager cooldownManager;
     private final MessageManager messageManager;
     private final EffectManager effectManager;
+    private final KillStreakTracker killStreaks;
 
     public PlayerDeathListener(KillRewardPlugin plugin) {
         this.plugin = plugin;
@@ -30,6 +35,8 @@ public class PlayerDeathListener implements Listener {
         this.cooldownManager = plugin.getCooldownManager();
         this.messageManager = plugin.getMessageManager();
         this.effectManager = plugin.getEffectManager();
+        this.killStreaks = plugin.getKillStreakTracker();
+        plugin.getKillLanes().setHandler(this::processKillReward);
     }
 
     @EventHandler
@@ -37,6 +44,9 @@ public class PlayerDeathListener implements Listener {
         Player victim = event.getEntity();
         Player killer = victim.getKiller();
 
+        // Any death ends the victim's streak
+        killStreaks.reset(victim.getUniqueId());
+
         // Quick validation checks
         if (killer == null) {
             if (configManager.isDebug()) {
@@ -56,7 +66,7 @@ public class PlayerDeathListener implements Listener {
             if (configManager.isDebug()) {
                 plugin.getLogger().info("❌ Self-kill detected: " + killer.getName());
             }
-            handleDenied(killer, "self-kill", "");
+            handleDenied(killer.getUniqueId(), MessageKey.SELF_KILL, "");
             return;
         }
 
@@ -71,253 +81,259 @@ public class PlayerDeathListener implements Listener {
             plugin.getLogger().info("✅ Processing kill: " + killer.getName() + " killed " + victim.getName());
         }
 
+        // Snapshot the kill here on the server thread; the killer's lane decides it in order
+        // and counts it into the streak only if it is rewarded
+        plugin.getKillLanes().publish(killer, victim, killStreaks.current(killer.getUniqueId()));
+    }
+
+    /**
+     * Decide one kill; runs on the killer's lane, never on the server thread. Completes once the kill is
+     * decided, which is later than the return when its cooldowns have to be read from storage.
+     */
+    private CompletableFuture<Void> processKillReward(KillRecord kill) {
+        UUID killerUUID = kill.getKillerUUID();
+        UUID victimUUID = kill.getVictimUUID();
+        String killerName = kill.getKillerName();
+        String victimName = kill.getVictimName();
+
         // Check bypass permission
-        if (killer.hasPermission("reward.bypass")) {
+        if (kill.isBypass()) {
             if (configManager.isDebug()) {
-                plugin.getLogger().info("✅ Bypass permission - giving reward to " + killer.getName());
+                plugin.getLogger().info("✅ Bypass permission - giving reward to " + killerName);
             }
-            giveReward(killer, victim);
-            return;
+            giveReward(kill);
+            return null;
         }
 
-        // Process kill reward
-        processKillReward(killer, victim);
-    }
+        if (configManager.isDebug()) {
+            plugin.getLogger().info("🔍 Starting checks for " + killerName + " killing " + victimName);
+        }
 
-    private void processKillReward(Player killer, Player victim) {
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                UUID killerUUID = killer.getUniqueId();
-                UUID victimUUID = victim.getUniqueId();
-                String killerName = killer.getName();
-                String victimName = victim.getName();
+        // IP Check against the addresses captured with the kill
+        if (configManager.isIPCheckEnabled()) {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("🔍 Checking IP for " + killerName + " and " + victimName);
+            }
 
+            boolean sameIP = hasSameIP(kill);
+            if (sameIP) {
+                if (configManager.isDebug()) {
+                    plugin.getLogger().info("❌ Same IP detected - denying reward for " + killerName);
+                }
+                handleDenied(killerUUID, MessageKey.SAME_IP, "");
+                return null;
+            } else {
                 if (configManager.isDebug()) {
-                    plugin.getLogger().info("🔍 Starting checks for " + killerName + " killing " + victimName);
+                    plugin.getLogger().info("✅ IP check passed for " + killerName);
                 }
+            }
+        }
 
-                // IP Check
-                if (configManager.isIPCheckEnabled()) {
-                    if (configManager.isDebug()) {
-                        plugin.getLogger().info("🔍 Checking IP for " + killerName + " and " + victimName);
-                    }
+        return lookupCooldowns(killerUUID, victimUUID).thenAccept(cooldownTimes -> decideKill(kill, cooldownTimes));
+    }
 
-                    boolean sameIP = hasSameIP(killer, victim);
-                    if (sameIP) {
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("❌ Same IP detected - denying reward for " + killerName);
-                        }
-                        handleDenied(killer, "same-ip", "");
-                        return false;
-                    } else {
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("✅ IP check passed for " + killerName);
-                        }
-                    }
-                }
+    /**
+     * Cooldown checks, claim and reward once the cooldown timestamps are known
+     */
+    private void decideKill(KillRecord kill, CooldownTimes cooldownTimes) {
+        UUID killerUUID = kill.getKillerUUID();
+        UUID victimUUID = kill.getVictimUUID();
+        String killerName = kill.getKillerName();
+        String victimName = kill.getVictimName();
 
-                // Per-Victim Cooldown Check (killer-victim specific)
-                if (configManager.isCooldownEnabled()) {
-                    if (configManager.isDebug()) {
-                        plugin.getLogger().info("🔍 Checking per-victim cooldown for " + killerName + "->" + victimName);
-                    }
+        if (!checkCooldowns(kill, cooldownTimes)) {
+            return;
+        }
 
-                    Long lastPerVictimKillTime = cooldownManager.getPerVictimCooldownTime(killerUUID, victimUUID);
-                    long perVictimCooldownMs = configManager.getCooldown() * 1000L;
-                    long currentTime = System.currentTimeMillis();
+        // Claim both cooldowns atomically; a concurrent kill that passed the same check loses here.
+        // The write itself is asynchronous and only persists the claim.
+        if (configManager.isCooldownEnabled() || configManager.getGlobalCooldown() > 0) {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("💾 Reserving cooldowns for " + killerName + "->" + victimName);
+            }
+            CooldownReservation reservation = cooldownManager.tryAcquireCooldowns(killerUUID, victimUUID,
+                    cooldownTimes, System.currentTimeMillis());
+            if (!reservation.isAcquired()) {
+                checkCooldowns(kill, reservation.getCurrentTimes());
+                return;
+            }
+        }
 
-                    if (configManager.isDebug()) {
-                        plugin.getLogger().info("⏰ Per-victim cooldown data - Last: " + lastPerVictimKillTime + ", Current: " + currentTime + ", Cooldown: " + perVictimCooldownMs + "ms");
-                    }
+        // All checks passed - give reward
+        if (configManager.isDebug()) {
+            plugin.getLogger().info("✅ All checks passed - giving reward to " + killerName + " for killing " + victimName);
+        }
+        giveReward(kill);
+    }
 
-                    if (lastPerVictimKillTime != null) {
-                        long timeSinceLastKill = currentTime - lastPerVictimKillTime;
-                        long remaining = perVictimCooldownMs - timeSinceLastKill;
-
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("⏰ Time since last kill (per-victim): " + timeSinceLastKill + "ms, Remaining: " + remaining + "ms");
-                        }
-
-                        if (remaining > 0) {
-                            String timeFormatted = TimeFormatter.formatTime(remaining / 1000);
-                            if (configManager.isDebug()) {
-                                plugin.getLogger().info("❌ Per-victim cooldown active - " + killerName + " must wait " + timeFormatted + " to kill " + victimName + " again");
-                            }
-                            handleDenied(killer, "cooldown", timeFormatted);
-                            return false;
-                        } else {
-                            if (configManager.isDebug()) {
-                                plugin.getLogger().info("✅ Per-victim cooldown check passed for " + killerName + "->" + victimName);
-                            }
-                        }
-                    } else {
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("✅ No previous kills found for " + killerName + "->" + victimName + " - per-victim cooldown check passed");
-                        }
-                    }
-                }
+    /**
+     * The cooldown timestamps the enabled checks need, in one lookup when both are enabled.
+     * Already complete when memory answers; a cache miss completes on the async executor.
+     */
+    private CompletableFuture<CooldownTimes> lookupCooldowns(UUID killerUUID, UUID victimUUID) {
+        boolean perVictimCooldownEnabled = configManager.isCooldownEnabled();
+        boolean globalCooldownEnabled = configManager.getGlobalCooldown() > 0;
 
-                // Global Player Cooldown Check (per-killer regardless of victim)
-                if (configManager.getGlobalCooldown() > 0) {
-                    if (configManager.isDebug()) {
-                        plugin.getLogger().info("🔍 Checking global player cooldown for " + killerName);
-                    }
+        if (perVictimCooldownEnabled && globalCooldownEnabled) {
+            return cooldownManager.getCooldownTimesAsync(killerUUID, victimUUID);
+        }
+        if (perVictimCooldownEnabled) {
+            return cooldownManager.getPerVictimCooldownTimeAsync(killerUUID, victimUUID)
+                    .thenApply(perVictimTime -> new CooldownTimes(perVictimTime, CooldownManager.NO_COOLDOWN));
+        }
+        if (globalCooldownEnabled) {
+            return cooldownManager.getGlobalPlayerCooldownTimeAsync(killerUUID)
+                    .thenApply(globalTime -> new CooldownTimes(CooldownManager.NO_COOLDOWN, globalTime));
+        }
+        return CompletableFuture.completedFuture(new CooldownTimes(CooldownManager.NO_COOLDOWN, CooldownManager.NO_COOLDOWN));
+    }
+
+    /**
+     * Per-victim and global cooldown checks; sends the denial and returns false if either is active
+     */
+    private boolean checkCooldowns(KillRecord kill, CooldownTimes cooldownTimes) {
+        String killerName = kill.getKillerName();
+        String victimName = kill.getVictimName();
+
+        // Per-Victim Cooldown Check (killer-victim specific)
+        if (configManager.isCooldownEnabled()) {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("🔍 Checking per-victim cooldown for " + killerName + "->" + victimName);
+            }
+
+            long lastPerVictimKillTime = cooldownTimes.getPerVictimTime();
+            long perVictimCooldownMs = configManager.getCooldown() * 1000L;
+            long currentTime = System.currentTimeMillis();
+
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("⏰ Per-victim cooldown data - Last: " + lastPerVictimKillTime + ", Current: " + currentTime + ", Cooldown: " + perVictimCooldownMs + "ms");
+            }
+
+            if (lastPerVictimKillTime != CooldownManager.NO_COOLDOWN) {
+                long timeSinceLastKill = currentTime - lastPerVictimKillTime;
+                long remaining = perVictimCooldownMs - timeSinceLastKill;
 
-                    Long lastGlobalKillTime = cooldownManager.getGlobalPlayerCooldownTime(killerUUID);
-                    long globalCooldownMs = configManager.getGlobalCooldown() * 1000L;
-                    long currentTime = System.currentTimeMillis();
+                if (configManager.isDebug()) {
+                    plugin.getLogger().info("⏰ Time since last kill (per-victim): " + timeSinceLastKill + "ms, Remaining: " + remaining + "ms");
+                }
 
+                if (remaining > 0) {
+                    String timeFormatted = TimeFormatter.formatTime(remaining / 1000);
                     if (configManager.isDebug()) {
-                        plugin.getLogger().info("⏰ Global player cooldown data - Last: " + lastGlobalKillTime + ", Current: " + currentTime + ", Cooldown: " + globalCooldownMs + "ms");
+                        plugin.getLogger().info("❌ Per-victim cooldown active - " + killerName + " must wait " + timeFormatted + " to kill " + victimName + " again");
                     }
-
-                    if (lastGlobalKillTime != null) {
-                        long timeSinceLastGlobalKill = currentTime - lastGlobalKillTime;
-                        long remaining = globalCooldownMs - timeSinceLastGlobalKill;
-
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("⏰ Time since last global kill: " + timeSinceLastGlobalKill + "ms, Remaining: " + remaining + "ms");
-                        }
-
-                        if (remaining > 0) {
-                            String timeFormatted = TimeFormatter.formatTime(remaining / 1000);
-                            if (configManager.isDebug()) {
-                                plugin.getLogger().info("❌ Global player cooldown active - " + killerName + " must wait " + timeFormatted + " to kill anyone");
-                            }
-                            handleDenied(killer, "global-cooldown", timeFormatted);
-                            return false;
-                        } else {
-                            if (configManager.isDebug()) {
-                                plugin.getLogger().info("✅ Global player cooldown check passed for " + killerName);
-                            }
-                        }
-                    } else {
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("✅ No previous global kills found for " + killerName + " - global cooldown check passed");
-                        }
+                    handleDenied(kill.getKillerUUID(), MessageKey.COOLDOWN, timeFormatted);
+                    return false;
+                } else {
+                    if (configManager.isDebug()) {
+                        plugin.getLogger().info("✅ Per-victim cooldown check passed for " + killerName + "->" + victimName);
                     }
                 }
-
-                // All checks passed - give reward
+            } else {
                 if (configManager.isDebug()) {
-                    plugin.getLogger().info("✅ All checks passed - giving reward to " + killerName + " for killing " + victimName);
-                }
-                giveReward(killer, victim);
-
-                // Update both cooldowns async
-                if (configManager.isCooldownEnabled() || configManager.getGlobalCooldown() > 0) {
-                    plugin.getAsyncExecutor().submit(() -> {
-                        if (configManager.isDebug()) {
-                            plugin.getLogger().info("💾 Updating cooldowns for " + killerName + "->" + victimName);
-                        }
-                        cooldownManager.updateCooldowns(killerUUID, victimUUID, System.currentTimeMillis());
-                    });
+                    plugin.getLogger().info("✅ No previous kills found for " + killerName + "->" + victimName + " - per-victim cooldown check passed");
                 }
+            }
+        }
+
+        // Global Player Cooldown Check (per-killer regardless of victim)
+        if (configManager.getGlobalCooldown() > 0) {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("🔍 Checking global player cooldown for " + killerName);
+            }
 
-                return true;
+            long lastGlobalKillTime = cooldownTimes.getGlobalTime();
+            long globalCooldownMs = configManager.getGlobalCooldown() * 1000L;
+            long currentTime = System.currentTimeMillis();
 
-            } catch (Exception e) {
-                plugin.getLogger().severe("❌ Error in processKillReward: " + e.getMessage());
-                e.printStackTrace();
-                return false;
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("⏰ Global player cooldown data - Last: " + lastGlobalKillTime + ", Current: " + currentTime + ", Cooldown: " + globalCooldownMs + "ms");
             }
-        }, plugin.getAsyncExecutor()).exceptionally(throwable -> {
-            plugin.getLogger().severe("❌ Error processing kill reward: " + throwable.getMessage());
-            return false;
-        });
-    }
 
-    private boolean hasSameIP(Player killer, Player victim) {
-        try {
-            if (killer.getAddress() == null || victim.getAddress() == null) {
+            if (lastGlobalKillTime != CooldownManager.NO_COOLDOWN) {
+                long timeSinceLastGlobalKill = currentTime - lastGlobalKillTime;
+                long remaining = globalCooldownMs - timeSinceLastGlobalKill;
+
                 if (configManager.isDebug()) {
-                    plugin.getLogger().info("❌ Could not get IP address for one of the players");
+                    plugin.getLogger().info("⏰ Time since last global kill: " + timeSinceLastGlobalKill + "ms, Remaining: " + remaining + "ms");
                 }
-                return false;
-            }
-
-            InetAddress killerIP = killer.getAddress().getAddress();
-            InetAddress victimIP = victim.getAddress().getAddress();
 
-            if (killerIP == null || victimIP == null) {
+                if (remaining > 0) {
+                    String timeFormatted = TimeFormatter.formatTime(remaining / 1000);
+                    if (configManager.isDebug()) {
+                        plugin.getLogger().info("❌ Global player cooldown active - " + killerName + " must wait " + timeFormatted + " to kill anyone");
+                    }
+                    handleDenied(kill.getKillerUUID(), MessageKey.GLOBAL_COOLDOWN, timeFormatted);
+                    return false;
+                } else {
+                    if (configManager.isDebug()) {
+                        plugin.getLogger().info("✅ Global player cooldown check passed for " + killerName);
+                    }
+                }
+            } else {
                 if (configManager.isDebug()) {
-                    plugin.getLogger().info("❌ IP address is null for one of the players");
+                    plugin.getLogger().info("✅ No previous global kills found for " + killerName + " - global cooldown check passed");
                 }
-                return false;
             }
+        }
 
-            String killerIPString = killerIP.getHostAddress();
-            String victimIPString = victimIP.getHostAddress();
-
-            boolean sameIP = killerIP.equals(victimIP);
+        return true;
+    }
 
+    private boolean hasSameIP(KillRecord kill) {
+        if (!kill.hasAddresses()) {
             if (configManager.isDebug()) {
-                plugin.getLogger().info("🌐 IP Check - Killer: " + killerIPString + ", Victim: " + victimIPString + ", Same: " + sameIP);
+                plugin.getLogger().info("❌ Could not get IP address for one of the players");
             }
-
-            return sameIP;
-        } catch (Exception e) {
-            plugin.getLogger().warning("❌ Error checking IP addresses: " + e.getMessage());
             return false;
         }
+
+        boolean sameIP = kill.isSameAddress();
+
+        if (configManager.isDebug()) {
+            plugin.getLogger().info("🌐 IP Check - Killer: " + kill.describeKillerAddress() + ", Victim: " + kill.describeVictimAddress() + ", Same: " + sameIP);
+        }
+
+        return sameIP;
     }
 
-    private void handleDenied(Player killer, String messageKey, String time) {
-        // Run on main thread for effects
-        Bukkit.getScheduler().runTask(plugin, () -> {
+    private void handleDenied(UUID killerUUID, MessageKey messageKey, String time) {
+        // Run on main thread for effects; the killer may have logged out meanwhile
+        plugin.getMainThreadDispatcher().dispatch(() -> {
+            Player killer = Bukkit.getPlayer(killerUUID);
+            if (killer == null) {
+                return;
+            }
             if (configManager.isDebug()) {
-                plugin.getLogger().info("🚫 Handling denied reward for " + killer.getName() + ": " + messageKey);
+                plugin.getLogger().info("🚫 Handling denied reward for " + killer.getName() + ": " + messageKey.getKey());
             }
 
             effectManager.applyDeniedEffects(killer, time);
 
-            String message = messageManager.getMessage(messageKey);
-            if (message.contains("%time%")) {
-                message = message.replace("%time%", time);
-            }
-
-            if (!message.isEmpty()) {
-                killer.sendMessage(message);
-            }
+            messageManager.send(killer, messageKey, time);
         });
     }
 
-    private void giveReward(Player killer, Player victim) {
+    private void giveReward(KillRecord kill) {
+        String killerName = kill.getKillerName();
+        String victimName = kill.getVictimName();
+        UUID killerUUID = kill.getKillerUUID();
+
         if (configManager.isDebug()) {
-            plugin.getLogger().info("🎁 Giving reward to " + killer.getName() + " for killing " + victim.getName());
+            plugin.getLogger().info("🎁 Giving reward to " + killerName + " for killing " + victimName);
         }
 
-        // Execute reward commands
-        List<String> rewardCommands = configManager.getRewardCommands();
-        for (String command : rewardCommands) {
-            String formattedCommand = command
-                    .replace("%player%", killer.getName())
-                    .replace("%victim%", victim.getName());
-
-            if (configManager.isDebug()) {
-                plugin.getLogger().info("⚙️ Executing command: " + formattedCommand);
-            }
+        // Past every check, so the kill counts toward %streak% now
+        kill.countStreak();
 
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                try {
-                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), formattedCommand);
-                } catch (Exception e) {
-                    plugin.getLogger().warning("❌ Failed to execute command: " + formattedCommand + " - " + e.getMessage());
-                }
-            });
+        // Prepare the compiled rewards here; the aggregator applies them with the effects on the main thread
+        List<RewardAction> actions = plugin.getRewardActionSet().getActions();
+        RewardAction.Prepared[] rewards = new RewardAction.Prepared[actions.size()];
+        StringBuilder builder = COMMAND_BUILDER.get();
+        for (int i = 0; i < rewards.length; i++) {
+            rewards[i] = actions.get(i).prepare(kill, builder);
         }
 
-        // Apply effects on main thread
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            effectManager.applyRewardEffects(killer, victim.getName());
-
-            String message = messageManager.getMessage("reward-given")
-                    .replace("%victim%", victim.getName());
-            killer.sendMessage(message);
-
-            if (configManager.isDebug()) {
-                plugin.getLogger().info("✅ Reward effects applied to " + killer.getName());
-            }
-        });
+        plugin.getRewardAggregator().deliver(killerUUID, killerName, victimName, rewards);
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ConfigManager {
 
@@ -240,6 +241,22 @@ public class ConfigManager {
     public void setRewardCommands(List<String> commands) {
         config.set("reward.commands", commands);
         saveConfig();
+        plugin.getRewardActionSet().load(getRewardActions(), commands);
+        plugin.getRewardActionSet().resolve();
+    }
+
+    /**
+     * Typed rewards (item, money, xp, potion, command), applied before reward.commands
+     */
+    public List<Map<?, ?>> getRewardActions() {
+        return config.getMapList("reward.actions");
+    }
+
+    /**
+     * Ticks to collect a killer's rewards before delivering them merged, from reward.aggregation.window; 0 disables
+     */
+    public long getRewardAggregationWindow() {
+        return Math.max(0L, config.getLong("reward.aggregation.window", 0L));
     }
 
     // Database settings
@@ -306,6 +323,56 @@ public class ConfigManager {
         saveConfig();
     }
 
+    // SQLite tuning
+    public String getSQLiteJournalMode() {
+        return config.getString("storage.sqlite.journal-mode", "WAL").toUpperCase();
+    }
+
+    public String getSQLiteSynchronous() {
+        return config.getString("storage.sqlite.synchronous", "NORMAL").toUpperCase();
+    }
+
+    public int getSQLiteCacheSize() {
+        return config.getInt("storage.sqlite.cache-size", -16000);
+    }
+
+    public long getSQLiteMmapSize() {
+        return Math.max(0L, config.getLong("storage.sqlite.mmap-size", 268435456L));
+    }
+
+    public int getSQLiteBusyTimeout() {
+        return Math.max(0, config.getInt("storage.sqlite.busy-timeout", 5000));
+    }
+
+    public int getSQLiteReaderPoolSize() {
+        return Math.max(1, config.getInt("storage.sqlite.reader-pool-size", 4));
+    }
+
+    // Journal storage
+    public long getJournalSyncInterval() {
+        return Math.max(50L, config.getLong("storage.journal.sync-interval", 1000L));
+    }
+
+    public int getJournalCompactionInterval() {
+        return Math.max(1, config.getInt("storage.journal.compaction-interval", 10));
+    }
+
+    public int getMigrationBatchSize() {
+        return Math.max(1, config.getInt("storage.migration.batch-size", 1000));
+    }
+
+    public boolean isPurgeEnabled() {
+        return config.getBoolean("storage.purge.enabled", true);
+    }
+
+    public int getPurgeInterval() {
+        return Math.max(1, config.getInt("storage.purge.interval", 30));
+    }
+
+    public int getPurgeBatchSize() {
+        return Math.max(1, config.getInt("storage.purge.batch-size", 500));
+    }
+
     // Language settings
     public String getLanguage() {
         return config.getString("language", "en");
@@ -518,6 +585,92 @@ public class ConfigManager {
         saveConfig();
     }
 
+    public String getExecutorMode() {
+        return config.getString("performance.executor", "platform").toLowerCase();
+    }
+
+    /**
+     * Kill processing lanes; 0 means one per available processor
+     */
+    public int getKillLaneCount() {
+        int lanes = config.getInt("performance.kill-lanes", 0);
+        return lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Preallocated kill slots per lane before kills spill into its overflow queue; rounded up to a power of two
+     */
+    public int getKillLaneCapacity() {
+        return Math.max(2, config.getInt("performance.kill-lane-capacity", 256));
+    }
+
+    /**
+     * Main thread time per tick for reward commands and effects, from performance.main-thread-budget in milliseconds
+     */
+    public long getMainThreadBudgetMicros() {
+        return Math.max(100L, (long) (config.getDouble("performance.main-thread-budget", 2.0) * 1000D));
+    }
+
+    /**
+     * Parsed chat and action bar components kept for reuse, from performance.component-cache-size; 0 disables
+     */
+    public int getComponentCacheSize() {
+        return Math.max(0, config.getInt("performance.component-cache-size", 512));
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return config.getBoolean("performance.write-behind.enabled", false);
+    }
+
+    public void setWriteBehindEnabled(boolean enabled) {
+        config.set("performance.write-behind.enabled", enabled);
+        saveConfig();
+    }
+
+    public long getWriteBehindFlushInterval() {
+        return Math.max(50L, config.getLong("performance.write-behind.flush-interval", 1000));
+    }
+
+    public int getWriteBehindMaxBatch() {
+        return Math.max(1, config.getInt("performance.write-behind.max-batch", 256));
+    }
+
+    public boolean isBloomFilterEnabled() {
+        return config.getBoolean("performance.bloom-filter.enabled", true);
+    }
+
+    public double getBloomFilterFalsePositiveRate() {
+        return config.getDouble("performance.bloom-filter.false-positive-rate", 0.01);
+    }
+
+    public long getCacheMaxEntries() {
+        return config.getLong("performance.cache.max-entries", 100000);
+    }
+
+    public long getCacheMaxMemoryMb() {
+        return config.getLong("performance.cache.max-memory-mb", 0);
+    }
+
+    public int getCacheCleanupInterval() {
+        return Math.max(1, config.getInt("performance.cache.cleanup-interval", 60));
+    }
+
+    public boolean isCacheClearOnQuit() {
+        return config.getBoolean("performance.cache.clear-on-quit", true);
+    }
+
+    public boolean isPrefetchEnabled() {
+        return config.getBoolean("performance.prefetch.enabled", true);
+    }
+
+    public boolean isCombatWarmUpEnabled() {
+        return config.getBoolean("performance.combat-warmup.enabled", true);
+    }
+
+    public long getCombatWarmUpDebounce() {
+        return Math.max(0L, config.getLong("performance.combat-warmup.debounce", 5000L));
+    }
+
     public FileConfiguration getConfig() {
         return config;
     }
@@ -1,200 +1,792 @@
 package com.mskplugins.mskills.manager;
 
 import com.mskplugins.mskills.KillRewardPlugin;
-
-import java.sql.*;
+import com.mskplugins.mskills.cache.CooldownTable;
+import com.mskplugins.mskills.cache.PairBloomFilter;
+import com.mskplugins.mskills.cache.PairIndex;
+import com.mskplugins.mskills.storage.CooldownKey;
+import com.mskplugins.mskills.storage.CooldownStore;
+import com.mskplugins.mskills.storage.CooldownTimes;
+import com.mskplugins.mskills.storage.StorageException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 public class CooldownManager {
 
+    /**
+     * Returned by the cooldown getters when no kill has been recorded
+     */
+    public static final long NO_COOLDOWN = CooldownTable.NO_VALUE;
+
+    // "No kill" as a lookup result; cached, a marker for a key storage did not have is its negated write time
+    private static final long ABSENT = Long.MIN_VALUE + 1;
+
+    // Returned by the in-memory lookups when only storage can answer
+    private static final long UNRESOLVED = Long.MIN_VALUE + 2;
+
+    private static final long WARM_UP_DEBOUNCE_ENTRIES = 10_000L;
+    private static final int RESERVATION_LOCK_STRIPES = 64;
+
     private final KillRewardPlugin plugin;
     private final DatabaseManager databaseManager;
     private final ConfigManager configManager;
 
-    // Separate caches for per-victim and global player cooldowns
-    private final ConcurrentMap<String, Long> perVictimCooldownCache = new ConcurrentHashMap<>();
-    private final ConcurrentMap<UUID, Long> globalPlayerCooldownCache = new ConcurrentHashMap<>();
+    // Separate caches for per-victim and global player cooldowns.
+    // Keys are the raw UUID halves: (killer msb, killer lsb, victim msb, victim lsb) and (player msb, player lsb, 0, 0)
+    private final CooldownTable perVictimCooldownCache = new CooldownTable();
+    private final CooldownTable globalPlayerCooldownCache = new CooldownTable();
+
+    // Killer→victims / victim→killers view of the per-victim cache, kept in sync by the table
+    private final PairIndex perVictimIndex = new PairIndex();
+
+    // Last combat warm-up per (attacker, victim), so a sustained fight triggers one load per pair
+    private final CooldownTable warmUpDebounce = new CooldownTable();
+
+    // Players whose live cooldown rows were all loaded at login, so a cache miss for them means "no cooldown"
+    private final Set<UUID> prefetchedPlayers = ConcurrentHashMap.newKeySet();
+    // Prefetches still loading; flagged if one of the player's live entries leaves the cache meanwhile
+    private final ConcurrentMap<UUID, AtomicBoolean> prefetchesInProgress = new ConcurrentHashMap<>();
+
+    // Memory-resident backends have no cache to compare-and-set on; reservations of one killer serialise here instead
+    private final Object[] reservationLocks = new Object[RESERVATION_LOCK_STRIPES];
+
+    // Write-behind buffer, used when performance.write-behind is enabled
+    private final CooldownWriteQueue writeQueue;
+
+    // Every (killer, victim) pair ever recorded; only trusted once the startup scan has finished
+    private volatile PairBloomFilter knownPairs;
+    private volatile boolean knownPairsReady;
 
     public CooldownManager(KillRewardPlugin plugin) {
         this.plugin = plugin;
         this.databaseManager = plugin.getDatabaseManager();
         this.configManager = plugin.getConfigManager();
+        this.writeQueue = new CooldownWriteQueue(plugin, this);
+        this.writeQueue.start();
+        for (int i = 0; i < reservationLocks.length; i++) {
+            reservationLocks[i] = new Object();
+        }
+
+        // An entry is dead once its cooldown has run out; an absence marker one cooldown after it was written
+        perVictimCooldownCache.setExpiryPolicy((time, now) -> liveSince(time) + configManager.getCooldown() * 1000L <= now);
+        globalPlayerCooldownCache.setExpiryPolicy((time, now) -> liveSince(time) + configManager.getGlobalCooldown() * 1000L <= now);
+        perVictimCooldownCache.setEntryListener(new CooldownTable.EntryListener() {
+            @Override
+            public void onAdded(long k1, long k2, long k3, long k4) {
+                perVictimIndex.onAdded(k1, k2, k3, k4);
+            }
+
+            @Override
+            public void onRemoved(long k1, long k2, long k3, long k4, long time) {
+                perVictimIndex.onRemoved(k1, k2, k3, k4, time);
+                invalidatePrefetch(k1, k2, time, configManager.getCooldown());
+            }
+        });
+        globalPlayerCooldownCache.setEntryListener(new CooldownTable.EntryListener() {
+            @Override
+            public void onAdded(long k1, long k2, long k3, long k4) {
+            }
+
+            @Override
+            public void onRemoved(long k1, long k2, long k3, long k4, long time) {
+                invalidatePrefetch(k1, k2, time, configManager.getGlobalCooldown());
+            }
+        });
+        warmUpDebounce.setExpiryPolicy((time, now) -> time + configManager.getCombatWarmUpDebounce() <= now);
+        warmUpDebounce.setMaximumSize(WARM_UP_DEBOUNCE_ENTRIES);
+        applyCacheLimits();
+    }
+
+    /**
+     * Apply performance.cache limits: the smaller of the entry cap and the memory budget wins
+     */
+    private void applyCacheLimits() {
+        long maxEntries = configManager.getCacheMaxEntries();
+        long memoryBudget = configManager.getCacheMaxMemoryMb() * 1024L * 1024L;
+        if (memoryBudget > 0) {
+            long budgetEntries = Math.max(1L, memoryBudget / CooldownTable.ESTIMATED_BYTES_PER_ENTRY);
+            maxEntries = maxEntries > 0 ? Math.min(maxEntries, budgetEntries) : budgetEntries;
+        }
+        perVictimCooldownCache.setMaximumSize(maxEntries);
+        globalPlayerCooldownCache.setMaximumSize(maxEntries);
     }
 
     /**
-     * Get per-victim cooldown time (killer-victim specific)
+     * Drop expired entries from both caches; runs periodically off the main thread
      */
-    public Long getPerVictimCooldownTime(UUID killerUUID, UUID victimUUID) {
-        String cacheKey = killerUUID.toString() + "_" + victimUUID.toString();
+    public void cleanUpCaches() {
+        int removed = perVictimCooldownCache.cleanUp() + globalPlayerCooldownCache.cleanUp();
+        warmUpDebounce.cleanUp();
+        if (removed > 0 && configManager.isDebug()) {
+            plugin.getLogger().info("💾 Removed " + removed + " expired cooldown cache entries");
+        }
+    }
 
+    private long queryPerVictim(CooldownStore store, UUID killerUUID, UUID victimUUID) {
+        try {
+            long lastKillTime = store.getPerVictim(killerUUID, victimUUID);
+            loadPerVictimResult(killerUUID, victimUUID, lastKillTime);
+            return lastKillTime;
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error getting per-victim cooldown time for " + killerUUID + "->" + victimUUID, e);
+        }
+
+        return NO_COOLDOWN;
+    }
+
+    /**
+     * Answer a per-victim lookup from memory (cache, write-behind queue, prefetch, Bloom filter), or {@link #UNRESOLVED}
+     */
+    private long resolvePerVictim(UUID killerUUID, UUID victimUUID) {
         // Check memory cache first
-        Long cachedTime = perVictimCooldownCache.get(cacheKey);
-        if (cachedTime != null) {
+        long cachedTime = getCachedPerVictim(killerUUID, victimUUID);
+        if (isAbsent(cachedTime)) {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("💾 Per-victim cooldown negative cache hit for " + killerUUID + "->" + victimUUID);
+            }
+            return NO_COOLDOWN;
+        }
+        if (cachedTime != NO_COOLDOWN) {
             if (configManager.isDebug()) {
                 plugin.getLogger().info("💾 Per-victim cooldown cache hit for " + killerUUID + "->" + victimUUID + ": " + cachedTime);
             }
             return cachedTime;
         }
 
-        // Query database if not in cache
-        String query = "SELECT last_kill_time FROM " + configManager.getMySQLTablePrefix() + "per_victim_cooldowns WHERE killer_uuid = ? AND victim_uuid = ?";
+        // A write-behind entry that has not been flushed yet is newer than the database
+        Long pendingTime = writeQueue.getPendingPerVictim(killerUUID, victimUUID);
+        if (pendingTime != null) {
+            cachePerVictim(killerUUID, victimUUID, pendingTime);
+            return pendingTime;
+        }
 
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        // Everything live for a prefetched killer is already in memory
+        if (prefetchedPlayers.contains(killerUUID)) {
+            return NO_COOLDOWN;
+        }
 
-            stmt.setString(1, killerUUID.toString());
-            stmt.setString(2, victimUUID.toString());
-            ResultSet rs = stmt.executeQuery();
+        // The Bloom filter answers "definitely never killed" without a database round trip, so that answer
+        // is not cached; the filter gives it again for free
+        PairBloomFilter filter = knownPairs;
+        if (knownPairsReady && filter != null && !filter.mightContain(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits())) {
+            return NO_COOLDOWN;
+        }
 
-            if (rs.next()) {
-                long lastKillTime = rs.getLong("last_kill_time");
-                // Cache the result
-                perVictimCooldownCache.put(cacheKey, lastKillTime);
+        return UNRESOLVED;
+    }
 
-                if (configManager.isDebug()) {
-                    plugin.getLogger().info("💾 Loaded per-victim cooldown from DB for " + killerUUID + "->" + victimUUID + ": " + lastKillTime);
-                }
+    /**
+     * Cache a per-victim time read from storage, including "not found"
+     */
+    private void loadPerVictimResult(UUID killerUUID, UUID victimUUID, long lastKillTime) {
+        loadPerVictim(killerUUID, victimUUID, lastKillTime == CooldownStore.NOT_FOUND ? absentMarker() : lastKillTime);
 
-                return lastKillTime;
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "❌ Error getting per-victim cooldown time for " + killerUUID + "->" + victimUUID, e);
+        if (configManager.isDebug()) {
+            plugin.getLogger().info(lastKillTime != CooldownStore.NOT_FOUND
+                    ? "💾 Loaded per-victim cooldown from DB for " + killerUUID + "->" + victimUUID + ": " + lastKillTime
+                    : "💾 No per-victim cooldown found for " + killerUUID + "->" + victimUUID);
         }
+    }
 
-        if (configManager.isDebug()) {
-            plugin.getLogger().info("💾 No per-victim cooldown found for " + killerUUID + "->" + victimUUID);
+    private long queryGlobal(CooldownStore store, UUID playerUUID) {
+        try {
+            long lastGlobalKillTime = store.getGlobal(playerUUID);
+            loadGlobalResult(playerUUID, lastGlobalKillTime);
+            return lastGlobalKillTime;
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error getting global player cooldown time for " + playerUUID, e);
         }
 
-        return null;
+        return NO_COOLDOWN;
     }
 
     /**
-     * Get global player cooldown time (per-killer regardless of victim)
+     * Answer a global lookup from memory (cache, write-behind queue, prefetch), or {@link #UNRESOLVED}
      */
-    public Long getGlobalPlayerCooldownTime(UUID playerUUID) {
+    private long resolveGlobal(UUID playerUUID) {
         // Check memory cache first
-        Long cachedTime = globalPlayerCooldownCache.get(playerUUID);
-        if (cachedTime != null) {
+        long cachedTime = getCachedGlobal(playerUUID);
+        if (isAbsent(cachedTime)) {
+            return NO_COOLDOWN;
+        }
+        if (cachedTime != NO_COOLDOWN) {
             if (configManager.isDebug()) {
                 plugin.getLogger().info("💾 Global player cooldown cache hit for " + playerUUID + ": " + cachedTime);
             }
             return cachedTime;
         }
 
-        // Query database if not in cache
-        String query = "SELECT last_global_kill_time FROM " + configManager.getMySQLTablePrefix() + "global_player_cooldowns WHERE player_uuid = ?";
+        Long pendingTime = writeQueue.getPendingGlobal(playerUUID);
+        if (pendingTime != null) {
+            cacheGlobal(playerUUID, pendingTime);
+            return pendingTime;
+        }
+
+        if (prefetchedPlayers.contains(playerUUID)) {
+            return NO_COOLDOWN;
+        }
+
+        return UNRESOLVED;
+    }
+
+    private void loadGlobalResult(UUID playerUUID, long lastGlobalKillTime) {
+        loadGlobal(playerUUID, lastGlobalKillTime == CooldownStore.NOT_FOUND ? absentMarker() : lastGlobalKillTime);
+
+        if (configManager.isDebug()) {
+            plugin.getLogger().info(lastGlobalKillTime != CooldownStore.NOT_FOUND
+                    ? "💾 Loaded global player cooldown from DB for " + playerUUID + ": " + lastGlobalKillTime
+                    : "💾 No global player cooldown found for " + playerUUID);
+        }
+    }
+
+    /**
+     * Per-victim cooldown time (killer-victim specific), without blocking: already completed when memory can answer,
+     * otherwise the storage read is scheduled on the async executor
+     */
+    public CompletableFuture<Long> getPerVictimCooldownTimeAsync(UUID killerUUID, UUID victimUUID) {
+        // Memory-resident backends answer directly; caching in front of them only costs memory
+        CooldownStore store = databaseManager.getStore();
+        if (store.isMemoryResident()) {
+            return CompletableFuture.completedFuture(getUncached(() -> store.getPerVictim(killerUUID, victimUUID)));
+        }
+
+        long resolvedTime = resolvePerVictim(killerUUID, victimUUID);
+        if (resolvedTime != UNRESOLVED) {
+            return CompletableFuture.completedFuture(resolvedTime);
+        }
+        return CompletableFuture.supplyAsync(() -> queryPerVictim(store, killerUUID, victimUUID), plugin.getAsyncExecutor());
+    }
+
+    /**
+     * Global player cooldown time (per-killer regardless of victim), without blocking
+     */
+    public CompletableFuture<Long> getGlobalPlayerCooldownTimeAsync(UUID playerUUID) {
+        CooldownStore store = databaseManager.getStore();
+        if (store.isMemoryResident()) {
+            return CompletableFuture.completedFuture(getUncached(() -> store.getGlobal(playerUUID)));
+        }
+
+        long resolvedTime = resolveGlobal(playerUUID);
+        if (resolvedTime != UNRESOLVED) {
+            return CompletableFuture.completedFuture(resolvedTime);
+        }
+        return CompletableFuture.supplyAsync(() -> queryGlobal(store, playerUUID), plugin.getAsyncExecutor());
+    }
+
+    /**
+     * Per-victim and global cooldown of a kill together, without blocking. Already completed when memory
+     * answers both; otherwise what memory cannot answer is read in a single storage round trip on the async
+     * executor, and both caches are filled from it.
+     */
+    public CompletableFuture<CooldownTimes> getCooldownTimesAsync(UUID killerUUID, UUID victimUUID) {
+        CooldownStore store = databaseManager.getStore();
+        if (store.isMemoryResident()) {
+            return CompletableFuture.completedFuture(getUncachedTimes(store, killerUUID, victimUUID));
+        }
+
+        long perVictimTime = resolvePerVictim(killerUUID, victimUUID);
+        long globalTime = resolveGlobal(killerUUID);
+        if (perVictimTime != UNRESOLVED && globalTime != UNRESOLVED) {
+            return CompletableFuture.completedFuture(new CooldownTimes(perVictimTime, globalTime));
+        }
+        return CompletableFuture.supplyAsync(() -> queryCooldownTimes(store, killerUUID, victimUUID, perVictimTime, globalTime),
+                plugin.getAsyncExecutor());
+    }
 
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+    /**
+     * Read the sides memory could not resolve; blocks on storage
+     */
+    private CooldownTimes queryCooldownTimes(CooldownStore store, UUID killerUUID, UUID victimUUID, long perVictimTime, long globalTime) {
+        // Only one side missing: the single lookup is already one round trip
+        if (perVictimTime == UNRESOLVED && globalTime != UNRESOLVED) {
+            return new CooldownTimes(queryPerVictim(store, killerUUID, victimUUID), globalTime);
+        }
+        if (globalTime == UNRESOLVED && perVictimTime != UNRESOLVED) {
+            return new CooldownTimes(perVictimTime, queryGlobal(store, killerUUID));
+        }
+        if (perVictimTime != UNRESOLVED) {
+            return new CooldownTimes(perVictimTime, globalTime);
+        }
 
-            stmt.setString(1, playerUUID.toString());
-            ResultSet rs = stmt.executeQuery();
+        try {
+            CooldownTimes times = store.getBoth(killerUUID, victimUUID);
+            loadPerVictimResult(killerUUID, victimUUID, times.getPerVictimTime());
+            loadGlobalResult(killerUUID, times.getGlobalTime());
+            return times;
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error getting cooldown times for " + killerUUID + "->" + victimUUID, e);
+            return new CooldownTimes(NO_COOLDOWN, NO_COOLDOWN);
+        }
+    }
 
-            if (rs.next()) {
-                long lastGlobalKillTime = rs.getLong("last_global_kill_time");
-                // Cache the result
-                globalPlayerCooldownCache.put(playerUUID, lastGlobalKillTime);
+    private CooldownTimes getUncachedTimes(CooldownStore store, UUID killerUUID, UUID victimUUID) {
+        return new CooldownTimes(getUncached(() -> store.getPerVictim(killerUUID, victimUUID)), getUncached(() -> store.getGlobal(killerUUID)));
+    }
 
-                if (configManager.isDebug()) {
-                    plugin.getLogger().info("💾 Loaded global player cooldown from DB for " + playerUUID + ": " + lastGlobalKillTime);
+    /**
+     * Read from a memory-resident store; it cannot fail for I/O reasons, but the SPI allows it
+     */
+    private long getUncached(StoreLookup lookup) {
+        try {
+            return lookup.get();
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error reading cooldown from " + databaseManager.getStore().getName() + " storage", e);
+            return NO_COOLDOWN;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreLookup {
+        long get() throws StorageException;
+    }
+
+    /**
+     * Load every live cooldown of a player (as killer) into the caches with a single query,
+     * so kill-time checks for that player never touch the database. Runs off the main thread.
+     */
+    public void prefetchPlayer(UUID playerUUID) {
+        // v1 rows are not covered by the query, so lookups keep going to storage until the migration is done
+        CooldownStore store = databaseManager.getStore();
+        if (!configManager.isPrefetchEnabled() || databaseManager.isLegacyMigrationPending() || store.isMemoryResident()) {
+            return;
+        }
+
+        AtomicBoolean invalidated = new AtomicBoolean(false);
+        prefetchesInProgress.put(playerUUID, invalidated);
+
+        long now = System.currentTimeMillis();
+        long msb = playerUUID.getMostSignificantBits();
+        long lsb = playerUUID.getLeastSignificantBits();
+        int[] rows = new int[1];
+        boolean[] global = new boolean[1];
+
+        try {
+            store.loadKiller(playerUUID, now - configManager.getCooldown() * 1000L, now - configManager.getGlobalCooldown() * 1000L, (victimUUID, time) -> {
+                // putMax: a kill recorded while the query ran is newer and must win
+                if (victimUUID == null) {
+                    globalPlayerCooldownCache.putMax(msb, lsb, 0L, 0L, time);
+                    global[0] = true;
+                } else {
+                    perVictimCooldownCache.putMax(msb, lsb, victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), time);
                 }
+                rows[0]++;
+            });
+        } catch (StorageException e) {
+            prefetchesInProgress.remove(playerUUID, invalidated);
+            plugin.getLogger().log(Level.WARNING, "❌ Error prefetching cooldowns for " + playerUUID, e);
+            return;
+        }
+        boolean hasGlobal = global[0];
 
-                return lastGlobalKillTime;
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "❌ Error getting global player cooldown time for " + playerUUID, e);
+        if (!hasGlobal) {
+            globalPlayerCooldownCache.putMax(msb, lsb, 0L, 0L, absentMarker());
+        }
+
+        // Mark first, then check: an eviction either sees the in-progress flag or removes the mark.
+        // A missing in-progress entry means the player was unloaded while the query ran.
+        prefetchedPlayers.add(playerUUID);
+        if (!prefetchesInProgress.remove(playerUUID, invalidated) || invalidated.get()) {
+            prefetchedPlayers.remove(playerUUID);
         }
 
         if (configManager.isDebug()) {
-            plugin.getLogger().info("💾 No global player cooldown found for " + playerUUID);
+            plugin.getLogger().info("💾 Prefetched " + rows[0] + " cooldown rows for " + playerUUID +
+                    (prefetchedPlayers.contains(playerUUID) ? "" : " (partially evicted, falling back to lookups)"));
         }
+    }
 
-        return null;
+    /**
+     * Load the (attacker, victim) and attacker global cooldowns in the background when a fight starts,
+     * so the lookups at death time are cache hits. Debounced per pair; called from the main thread, never blocks.
+     */
+    public void warmUp(UUID attackerUUID, UUID victimUUID) {
+        // A prefetched attacker (or a memory-resident backend) already has everything in memory
+        if (prefetchedPlayers.contains(attackerUUID) || databaseManager.getStore().isMemoryResident()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long attackerMsb = attackerUUID.getMostSignificantBits();
+        long attackerLsb = attackerUUID.getLeastSignificantBits();
+        long victimMsb = victimUUID.getMostSignificantBits();
+        long victimLsb = victimUUID.getLeastSignificantBits();
+
+        long lastWarmUp = warmUpDebounce.get(attackerMsb, attackerLsb, victimMsb, victimLsb);
+        if (lastWarmUp != CooldownTable.NO_VALUE && now - lastWarmUp < configManager.getCombatWarmUpDebounce()) {
+            return;
+        }
+        warmUpDebounce.put(attackerMsb, attackerLsb, victimMsb, victimLsb, now);
+
+        // Memory is checked here; whatever it cannot answer is read in one round trip on the async executor
+        // and cached, including "no cooldown"
+        getCooldownTimesAsync(attackerUUID, victimUUID);
     }
 
     /**
-     * Update both per-victim and global player cooldowns
+     * Prefetch several players on the async executor, e.g. everyone online after a reload
      */
-    public CompletableFuture<Boolean> updateCooldowns(UUID killerUUID, UUID victimUUID, long currentTime) {
-        return CompletableFuture.supplyAsync(() -> {
-            boolean isSQLite = configManager.getStorageType().equals("sqlite");
+    public void prefetchPlayers(Collection<UUID> playerUUIDs) {
+        if (!configManager.isPrefetchEnabled() || playerUUIDs.isEmpty()) {
+            return;
+        }
+        plugin.getAsyncExecutor().execute(() -> playerUUIDs.forEach(this::prefetchPlayer));
+    }
 
-            String perVictimCooldownQuery;
-            String globalPlayerCooldownQuery;
+    public boolean isPrefetched(UUID playerUUID) {
+        return prefetchedPlayers.contains(playerUUID) || prefetchesInProgress.containsKey(playerUUID);
+    }
 
-            if (isSQLite) {
-                // SQLite syntax - use INSERT OR REPLACE
-                perVictimCooldownQuery = "INSERT OR REPLACE INTO " + configManager.getMySQLTablePrefix() + "per_victim_cooldowns (killer_uuid, victim_uuid, last_kill_time) VALUES (?, ?, ?)";
-                globalPlayerCooldownQuery = "INSERT OR REPLACE INTO " + configManager.getMySQLTablePrefix() + "global_player_cooldowns (player_uuid, last_global_kill_time) VALUES (?, ?)";
+    /**
+     * Forget a player's prefetch on quit, optionally dropping their cached entries too
+     */
+    public void unloadPlayer(UUID playerUUID, boolean clearEntries) {
+        prefetchesInProgress.remove(playerUUID);
+        prefetchedPlayers.remove(playerUUID);
+        if (clearEntries) {
+            clearCache(playerUUID);
+        }
+    }
+
+    /**
+     * A live entry leaving the cache means the owner's prefetched view is no longer complete.
+     * Absence markers and expired entries carry no cooldown, so losing them changes nothing.
+     */
+    private void invalidatePrefetch(long msb, long lsb, long time, long cooldownSeconds) {
+        if (isAbsent(time) || time + cooldownSeconds * 1000L <= System.currentTimeMillis()) {
+            return;
+        }
+        if (prefetchedPlayers.isEmpty() && prefetchesInProgress.isEmpty()) {
+            return;
+        }
+
+        UUID playerUUID = new UUID(msb, lsb);
+        prefetchedPlayers.remove(playerUUID);
+        AtomicBoolean invalidated = prefetchesInProgress.get(playerUUID);
+        if (invalidated != null) {
+            invalidated.set(true);
+        }
+    }
+
+    /**
+     * Decide and reserve a kill's cooldowns in one step. Each enabled cooldown is checked against the cached
+     * time (the looked-up time when nothing is cached) and claimed with a compare-and-set on the cache entry,
+     * so of two racing kills that both passed the lookup exactly one wins. The winner's time is visible at
+     * once; storage is written afterwards and only persists the decision.
+     */
+    public CooldownReservation tryAcquireCooldowns(UUID killerUUID, UUID victimUUID, CooldownTimes observed, long currentTime) {
+        long perVictimCooldownMs = configManager.isCooldownEnabled() ? configManager.getCooldown() * 1000L : 0L;
+        long globalCooldownMs = Math.max(0L, configManager.getGlobalCooldown() * 1000L);
+
+        CooldownStore store = databaseManager.getStore();
+        if (store.isMemoryResident()) {
+            return tryAcquireStored(store, killerUUID, victimUUID, currentTime, perVictimCooldownMs, globalCooldownMs);
+        }
+
+        long killerMsb = killerUUID.getMostSignificantBits();
+        long killerLsb = killerUUID.getLeastSignificantBits();
+        long victimMsb = victimUUID.getMostSignificantBits();
+        long victimLsb = victimUUID.getLeastSignificantBits();
+
+        long cachedPerVictim = reserve(perVictimCooldownCache, killerMsb, killerLsb, victimMsb, victimLsb,
+                observed.getPerVictimTime(), perVictimCooldownMs, currentTime);
+        long previousPerVictim = effectiveTime(cachedPerVictim, observed.getPerVictimTime());
+        if (isActive(previousPerVictim, perVictimCooldownMs, currentTime)) {
+            return deny(killerUUID, victimUUID, previousPerVictim, observed.getGlobalTime());
+        }
+
+        long previousGlobal = effectiveTime(reserve(globalPlayerCooldownCache, killerMsb, killerLsb, 0L, 0L,
+                observed.getGlobalTime(), globalCooldownMs, currentTime), observed.getGlobalTime());
+        if (isActive(previousGlobal, globalCooldownMs, currentTime)) {
+            // Hand the per-victim claim back; a newer time written meanwhile stays. An entry the claim
+            // created is removed rather than left as an absence marker the lookup never proved.
+            if (cachedPerVictim == CooldownTable.NO_VALUE) {
+                perVictimCooldownCache.compareAndRemove(killerMsb, killerLsb, victimMsb, victimLsb, currentTime);
             } else {
-                // MySQL syntax
-                perVictimCooldownQuery = "INSERT INTO " + configManager.getMySQLTablePrefix() + "per_victim_cooldowns (killer_uuid, victim_uuid, last_kill_time) VALUES (?, ?, ?) " +
-                        "ON DUPLICATE KEY UPDATE last_kill_time = ?";
-                globalPlayerCooldownQuery = "INSERT INTO " + configManager.getMySQLTablePrefix() + "global_player_cooldowns (player_uuid, last_global_kill_time) VALUES (?, ?) " +
-                        "ON DUPLICATE KEY UPDATE last_global_kill_time = ?";
-            }
-
-            try (Connection conn = databaseManager.getConnection()) {
-                conn.setAutoCommit(false);
-
-                try {
-                    // Update per-victim cooldown
-                    try (PreparedStatement stmt = conn.prepareStatement(perVictimCooldownQuery)) {
-                        stmt.setString(1, killerUUID.toString());
-                        stmt.setString(2, victimUUID.toString());
-                        stmt.setLong(3, currentTime);
-                        if (!isSQLite) {
-                            stmt.setLong(4, currentTime); // For MySQL ON DUPLICATE KEY
-                        }
-                        stmt.executeUpdate();
-                    }
-
-                    // Update global player cooldown
-                    try (PreparedStatement stmt = conn.prepareStatement(globalPlayerCooldownQuery)) {
-                        stmt.setString(1, killerUUID.toString());
-                        stmt.setLong(2, currentTime);
-                        if (!isSQLite) {
-                            stmt.setLong(3, currentTime); // For MySQL ON DUPLICATE KEY
-                        }
-                        stmt.executeUpdate();
-                    }
-
-                    conn.commit();
-
-                    // Update cache
-                    String cacheKey = killerUUID.toString() + "_" + victimUUID.toString();
-                    perVictimCooldownCache.put(cacheKey, currentTime);
-                    globalPlayerCooldownCache.put(killerUUID, currentTime);
-
-                    if (configManager.isDebug()) {
-                        plugin.getLogger().info("💾 Updated cooldowns - Killer: " + killerUUID + ", Victim: " + victimUUID + ", Time: " + currentTime);
-                    }
-
-                    return true;
-
-                } catch (SQLException e) {
-                    conn.rollback();
-                    throw e;
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "❌ Error updating cooldowns", e);
-                return false;
+                perVictimCooldownCache.compareAndExchange(killerMsb, killerLsb, victimMsb, victimLsb, currentTime, cachedPerVictim);
+            }
+            return deny(killerUUID, victimUUID, previousPerVictim, previousGlobal);
+        }
+
+        persistCooldowns(killerUUID, victimUUID, currentTime);
+        return CooldownReservation.acquired();
+    }
+
+    /**
+     * Claim one cache entry unless it holds an active cooldown. Returns the cached value the claim replaced,
+     * {@link CooldownTable#NO_VALUE} if there was none; see {@link #effectiveTime} for the time it stands for.
+     */
+    private long reserve(CooldownTable table, long k1, long k2, long k3, long k4, long observedTime, long cooldownMs, long currentTime) {
+        long current = table.get(k1, k2, k3, k4);
+        while (true) {
+            if (isActive(effectiveTime(current, observedTime), cooldownMs, currentTime)) {
+                return current;
+            }
+            long witness = table.compareAndExchange(k1, k2, k3, k4, current, currentTime);
+            if (witness == current) {
+                return current;
             }
-        }, plugin.getAsyncExecutor());
+            current = witness;
+        }
+    }
+
+    /**
+     * The time a cache slot stands for: its value, or with nothing cached (never loaded, or evicted since
+     * the lookup) the lookup result, {@link #ABSENT} for none
+     */
+    private static long effectiveTime(long cached, long observedTime) {
+        if (cached != CooldownTable.NO_VALUE) {
+            return cached;
+        }
+        return observedTime == NO_COOLDOWN ? ABSENT : observedTime;
     }
 
-    public void clearCache(UUID playerUUID) {
-        // Remove all cached entries for this player (both as killer and victim)
-        perVictimCooldownCache.keySet().removeIf(key -> key.startsWith(playerUUID.toString() + "_") || key.endsWith("_" + playerUUID.toString()));
-        globalPlayerCooldownCache.remove(playerUUID);
+    private boolean isActive(long time, long cooldownMs, long currentTime) {
+        return cooldownMs > 0L && !isAbsent(time) && time != NO_COOLDOWN && time + cooldownMs > currentTime;
+    }
+
+    /**
+     * Cache marker for a key storage does not have, stamped with when that was established
+     */
+    private static long absentMarker() {
+        return -System.currentTimeMillis();
+    }
+
+    /**
+     * True for {@link #ABSENT} and cached absence markers; kill times are always positive
+     */
+    private static boolean isAbsent(long time) {
+        return time < 0L && time > UNRESOLVED || time == ABSENT;
+    }
+
+    /**
+     * The time an entry's lifetime counts from: the kill time, or when an absence marker was written
+     */
+    private static long liveSince(long time) {
+        return isAbsent(time) && time != ABSENT ? -time : time;
+    }
+
+    private CooldownReservation deny(UUID killerUUID, UUID victimUUID, long perVictimTime, long globalTime) {
+        if (configManager.isDebug()) {
+            plugin.getLogger().info("⏳ Cooldown reservation lost for " + killerUUID + "->" + victimUUID);
+        }
+        return CooldownReservation.denied(new CooldownTimes(isAbsent(perVictimTime) ? NO_COOLDOWN : perVictimTime,
+                isAbsent(globalTime) ? NO_COOLDOWN : globalTime));
+    }
+
+    /**
+     * Check-and-put on a memory-resident store; the lock stripe is chosen by killer, which both cooldowns share
+     */
+    private CooldownReservation tryAcquireStored(CooldownStore store, UUID killerUUID, UUID victimUUID, long currentTime,
+                                                 long perVictimCooldownMs, long globalCooldownMs) {
+        synchronized (reservationLocks[(killerUUID.hashCode() & Integer.MAX_VALUE) % reservationLocks.length]) {
+            CooldownTimes current = getUncachedTimes(store, killerUUID, victimUUID);
+            if (isActive(current.getPerVictimTime(), perVictimCooldownMs, currentTime)
+                    || isActive(current.getGlobalTime(), globalCooldownMs, currentTime)) {
+                return CooldownReservation.denied(current);
+            }
+            try {
+                store.put(killerUUID, victimUUID, currentTime);
+            } catch (StorageException e) {
+                plugin.getLogger().log(Level.SEVERE, "❌ Error writing cooldowns to " + store.getName() + " storage", e);
+            }
+            return CooldownReservation.acquired();
+        }
+    }
+
+    /**
+     * Write cooldowns that are already in the cache through to storage
+     */
+    private CompletableFuture<Boolean> persistCooldowns(UUID killerUUID, UUID victimUUID, long currentTime) {
+        // Record the pair before it is persisted so a concurrent lookup never gets a false "never killed".
+        // Repeated if a rebuild swapped the filter meanwhile, so the pair is never only in the old one.
+        PairBloomFilter filter = knownPairs;
+        while (filter != null) {
+            filter.put(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                    victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits());
+            PairBloomFilter current = knownPairs;
+            filter = current != filter ? current : null;
+        }
+
+        if (configManager.isWriteBehindEnabled()) {
+            writeQueue.enqueue(killerUUID, victimUUID, currentTime);
+
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("💾 Queued cooldowns - Killer: " + killerUUID + ", Victim: " + victimUUID + ", Time: " + currentTime);
+            }
+            return CompletableFuture.completedFuture(true);
+        }
+
+        CooldownStore store = databaseManager.getStore();
+        return store.putAsync(killerUUID, victimUUID, currentTime, plugin.getAsyncExecutor()).thenApply(ignored -> {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("💾 Updated cooldowns - Killer: " + killerUUID + ", Victim: " + victimUUID + ", Time: " + currentTime);
+            }
+            return true;
+        }).exceptionally(e -> {
+            plugin.getLogger().log(Level.SEVERE, "❌ Error updating cooldowns", e.getCause() != null ? e.getCause() : e);
+            return false;
+        });
+    }
+
+    /**
+     * Persist a batch of coalesced cooldown writes in a single transaction
+     */
+    boolean writeBatch(Map<CooldownKey, Long> perVictim, Map<UUID, Long> global) {
+        try {
+            databaseManager.getStore().putBatch(perVictim, global);
+            return true;
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "❌ Error writing cooldown batch", e);
+            return false;
+        }
+    }
+
+    private long getCachedPerVictim(UUID killerUUID, UUID victimUUID) {
+        return perVictimCooldownCache.get(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits());
+    }
+
+    /**
+     * Cache a kill time; never lowers a newer time, such as a concurrent reservation
+     */
+    private void cachePerVictim(UUID killerUUID, UUID victimUUID, long time) {
+        perVictimCooldownCache.putMax(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), time);
+    }
+
+    /**
+     * Cache a value read from storage without overwriting a newer value written concurrently
+     */
+    private void loadPerVictim(UUID killerUUID, UUID victimUUID, long time) {
+        perVictimCooldownCache.putIfAbsent(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), time);
+    }
+
+    private void loadGlobal(UUID playerUUID, long time) {
+        globalPlayerCooldownCache.putIfAbsent(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), 0L, 0L, time);
+    }
+
+    private long getCachedGlobal(UUID playerUUID) {
+        return globalPlayerCooldownCache.get(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), 0L, 0L);
+    }
+
+    private void cacheGlobal(UUID playerUUID, long time) {
+        globalPlayerCooldownCache.putMax(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), 0L, 0L, time);
+    }
+
+    /**
+     * Build the Bloom filter of known (killer, victim) pairs from the cooldown tables.
+     * Writes made while the scan runs are added to the same filter, so nothing is missed.
+     */
+    public void loadKnownPairs() {
+        CooldownStore store = databaseManager.getStore();
+        if (!configManager.isBloomFilterEnabled() || store.isMemoryResident()) {
+            knownPairs = null;
+            knownPairsReady = false;
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        knownPairsReady = false;
+
+        try {
+            long rows = store.countPairs();
+
+            // Leave room for growth so the false positive rate holds for a while
+            PairBloomFilter filter = new PairBloomFilter(Math.max(rows * 2, 100_000L), configManager.getBloomFilterFalsePositiveRate());
+            knownPairs = filter;
+
+            store.forEachPair((killerUUID, victimUUID) -> filter.put(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                    victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits()));
+
+            knownPairsReady = true;
+            plugin.getLogger().info("✓ Loaded " + rows + " known kill pairs into Bloom filter in " + (System.currentTimeMillis() - startTime) + "ms");
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Failed to build known kill pair filter, falling back to database lookups", e);
+        }
+    }
+
+    /**
+     * Rebuild the known pair filter once more pairs were added than it was sized for. Blocking; runs
+     * after the purge, so the new filter is sized from the rows that are still live.
+     */
+    public void rebuildKnownPairsIfSaturated() {
+        PairBloomFilter filter = knownPairs;
+        if (!knownPairsReady || filter == null || !filter.isSaturated()) {
+            return;
+        }
+
+        plugin.getLogger().info("💾 Known kill pair filter holds " + filter.getInsertions() + " pairs, sized for " +
+                filter.getExpectedInsertions() + " - rebuilding");
+        loadKnownPairs();
+    }
+
+    /**
+     * Remove all cached entries for this player (both as killer and victim).
+     * Uses the pair index, so the cost is proportional to the player's own entries.
+     */
+    public int clearCache(UUID playerUUID) {
+        long msb = playerUUID.getMostSignificantBits();
+        long lsb = playerUUID.getLeastSignificantBits();
+        int removed = 0;
+
+        // Removing a table entry unlinks it from the index sets being iterated, which they allow
+        for (UUID victimUUID : perVictimIndex.getVictims(playerUUID)) {
+            if (perVictimCooldownCache.remove(msb, lsb, victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits()) != CooldownTable.NO_VALUE) {
+                removed++;
+            }
+        }
+        for (UUID killerUUID : perVictimIndex.getKillers(playerUUID)) {
+            if (perVictimCooldownCache.remove(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(), msb, lsb) != CooldownTable.NO_VALUE) {
+                removed++;
+            }
+        }
+        if (globalPlayerCooldownCache.remove(msb, lsb, 0L, 0L) != CooldownTable.NO_VALUE) {
+            removed++;
+        }
+        return removed;
     }
 
     public void clearAllCache() {
+        prefetchedPlayers.clear();
+        prefetchesInProgress.values().forEach(invalidated -> invalidated.set(true));
         perVictimCooldownCache.clear();
         globalPlayerCooldownCache.clear();
     }
+
+    /**
+     * Re-read write-behind settings after a config reload
+     */
+    public void reload() {
+        writeQueue.reschedule();
+        applyCacheLimits();
+    }
+
+    /**
+     * Flush pending write-behind cooldowns; called on plugin disable
+     */
+    public void shutdown() {
+        writeQueue.shutdown();
+    }
+
+    public CooldownWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    public CooldownTable getPerVictimCache() {
+        return perVictimCooldownCache;
+    }
+
+    public CooldownTable getGlobalCache() {
+        return globalPlayerCooldownCache;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.storage.CooldownStore;
+import com.mskplugins.mskills.storage.StorageException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Deletes cooldown rows whose cooldown has run out. Rows go in chunks of storage.purge.batch-size,
+ * each its own short statement, so the tables are never locked for long while kills keep being written.
+ * Runs on the Bukkit async scheduler every storage.purge.interval minutes, and afterwards rebuilds the
+ * known kill pair filter if it outgrew its size.
+ */
+public class CooldownPurgeTask implements Runnable {
+
+    private static final long CHUNK_PAUSE_MS = 25L;
+
+    private final KillRewardPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final ConfigManager configManager;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile long lastPurgedRows;
+    private volatile long totalPurgedRows;
+
+    public CooldownPurgeTask(KillRewardPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+        this.configManager = plugin.getConfigManager();
+    }
+
+    @Override
+    public void run() {
+        // Leave the tables alone while the v1 -> v2 copy is still running; it purges on the next run
+        CooldownStore store = databaseManager.getStore();
+        if (store == null || databaseManager.isLegacyMigrationPending() || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (configManager.isPurgeEnabled()) {
+                purgeExpired();
+            }
+
+            // The Bloom filter only grows between rebuilds; resize it from the rows the purge left
+            plugin.getCooldownManager().rebuildKnownPairsIfSaturated();
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error purging expired cooldowns", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void purgeExpired() throws StorageException {
+        long startTime = System.currentTimeMillis();
+
+        // Strictly older than the cooldown, so a row is only removed once it can no longer deny a reward
+        int perVictimRows = purge(true, startTime - configManager.getCooldown() * 1000L);
+        int globalRows = purge(false, startTime - configManager.getGlobalCooldown() * 1000L);
+
+        lastPurgedRows = perVictimRows + globalRows;
+        totalPurgedRows += lastPurgedRows;
+
+        if (lastPurgedRows > 0 || configManager.isDebug()) {
+            plugin.getLogger().info("✓ Purged " + perVictimRows + " per-victim and " + globalRows +
+                    " global expired cooldowns in " + (System.currentTimeMillis() - startTime) + "ms");
+        }
+    }
+
+    /**
+     * Delete rows older than the cutoff one chunk at a time until a chunk comes back short
+     */
+    private int purge(boolean perVictim, long before) throws StorageException {
+        CooldownStore store = databaseManager.getStore();
+        int batchSize = configManager.getPurgeBatchSize();
+
+        int purged = 0;
+        while (plugin.isEnabled()) {
+            // One short transaction per chunk, through the SQLite writer when it is enabled
+            int deleted = perVictim ? store.purgePerVictim(before, batchSize) : store.purgeGlobal(before, batchSize);
+
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+
+            try {
+                Thread.sleep(CHUNK_PAUSE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return purged;
+    }
+
+    public long getLastPurgedRows() {
+        return lastPurgedRows;
+    }
+
+    public long getTotalPurgedRows() {
+        return totalPurgedRows;
+    }
+}
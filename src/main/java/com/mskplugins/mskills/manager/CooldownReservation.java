@@ -0,0 +1,39 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.storage.CooldownTimes;
+
+/**
+ * Outcome of {@link CooldownManager#tryAcquireCooldowns}: either this kill now holds the cooldowns,
+ * or another kill got there first and these are the times that block it
+ */
+public final class CooldownReservation {
+
+    private static final CooldownReservation ACQUIRED = new CooldownReservation(true, null);
+
+    private final boolean acquired;
+    private final CooldownTimes currentTimes;
+
+    private CooldownReservation(boolean acquired, CooldownTimes currentTimes) {
+        this.acquired = acquired;
+        this.currentTimes = currentTimes;
+    }
+
+    static CooldownReservation acquired() {
+        return ACQUIRED;
+    }
+
+    static CooldownReservation denied(CooldownTimes currentTimes) {
+        return new CooldownReservation(false, currentTimes);
+    }
+
+    public boolean isAcquired() {
+        return acquired;
+    }
+
+    /**
+     * The cooldown times that denied the reservation; null if it was acquired
+     */
+    public CooldownTimes getCurrentTimes() {
+        return currentTimes;
+    }
+}
@@ -0,0 +1,213 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.storage.CooldownKey;
+import com.mskplugins.mskills.storage.CooldownStore;
+import com.mskplugins.mskills.storage.StorageException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Copies v1 (text UUID, millisecond) cooldown rows into the v2 (binary UUID, epoch second) tables.
+ * Runs on its own thread in small keyset-paginated batches, one transaction per batch,
+ * so startup and normal kill processing are never blocked. Rows are merged keeping the newest
+ * timestamp, which makes the copy safe to run while new kills are written to v2 and safe to
+ * restart from the beginning if the server stops midway.
+ */
+public class CooldownSchemaMigration {
+
+    private static final long BATCH_PAUSE_MS = 25L;
+
+    private final KillRewardPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final ConfigManager configManager;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CooldownSchemaMigration(KillRewardPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.configManager = plugin.getConfigManager();
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "MSKills-Migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(5000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        plugin.getLogger().info("⏳ Migrating cooldown tables to schema v" + DatabaseManager.SCHEMA_VERSION + " in the background...");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            int perVictimRows = migratePerVictim();
+            int globalRows = migrateGlobal();
+
+            if (!running) {
+                plugin.getLogger().info("⏸ Cooldown migration interrupted, it will resume on next startup");
+                return;
+            }
+
+            databaseManager.completeMigration();
+            plugin.getLogger().info("✓ Migrated " + perVictimRows + " per-victim and " + globalRows +
+                    " global cooldowns in " + (System.currentTimeMillis() - startTime) + "ms");
+        } catch (SQLException | StorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "❌ Cooldown table migration failed, it will be retried on next startup", e);
+        }
+    }
+
+    private int migratePerVictim() throws SQLException, StorageException {
+        CooldownStore store = databaseManager.getStore();
+        int batchSize = configManager.getMigrationBatchSize();
+
+        String select = "SELECT killer_uuid, victim_uuid, last_kill_time FROM " + databaseManager.getLegacyPerVictimTable() +
+                " WHERE killer_uuid > ? OR (killer_uuid = ? AND victim_uuid > ?)" +
+                " ORDER BY killer_uuid, victim_uuid LIMIT ?";
+
+        String lastKiller = "";
+        String lastVictim = "";
+        int migrated = 0;
+
+        while (running) {
+            List<String[]> keys = new ArrayList<>(batchSize);
+            List<Long> times = new ArrayList<>(batchSize);
+
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(select)) {
+                stmt.setString(1, lastKiller);
+                stmt.setString(2, lastKiller);
+                stmt.setString(3, lastVictim);
+                stmt.setInt(4, batchSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        keys.add(new String[]{rs.getString("killer_uuid"), rs.getString("victim_uuid")});
+                        times.add(rs.getLong("last_kill_time"));
+                    }
+                }
+            }
+
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            // The store keeps the newest time per key, so rows written since startup are never overwritten
+            Map<CooldownKey, Long> batch = new HashMap<>(keys.size() * 2);
+            for (int i = 0; i < keys.size(); i++) {
+                UUID killerUUID = parseUUID(keys.get(i)[0]);
+                UUID victimUUID = parseUUID(keys.get(i)[1]);
+                if (killerUUID != null && victimUUID != null) {
+                    batch.merge(new CooldownKey(killerUUID, victimUUID), times.get(i), Math::max);
+                }
+            }
+            store.putBatch(batch, Collections.emptyMap());
+
+            String[] last = keys.get(keys.size() - 1);
+            lastKiller = last[0];
+            lastVictim = last[1];
+            migrated += keys.size();
+
+            if (!pause()) {
+                break;
+            }
+        }
+
+        return migrated;
+    }
+
+    private int migrateGlobal() throws SQLException, StorageException {
+        CooldownStore store = databaseManager.getStore();
+        int batchSize = configManager.getMigrationBatchSize();
+
+        String select = "SELECT player_uuid, last_global_kill_time FROM " + databaseManager.getLegacyGlobalTable() +
+                " WHERE player_uuid > ? ORDER BY player_uuid LIMIT ?";
+
+        String lastPlayer = "";
+        int migrated = 0;
+
+        while (running) {
+            List<String> keys = new ArrayList<>(batchSize);
+            List<Long> times = new ArrayList<>(batchSize);
+
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(select)) {
+                stmt.setString(1, lastPlayer);
+                stmt.setInt(2, batchSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        keys.add(rs.getString("player_uuid"));
+                        times.add(rs.getLong("last_global_kill_time"));
+                    }
+                }
+            }
+
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            Map<UUID, Long> batch = new HashMap<>(keys.size() * 2);
+            for (int i = 0; i < keys.size(); i++) {
+                UUID playerUUID = parseUUID(keys.get(i));
+                if (playerUUID != null) {
+                    batch.merge(playerUUID, times.get(i), Math::max);
+                }
+            }
+            store.putBatch(Collections.emptyMap(), batch);
+
+            lastPlayer = keys.get(keys.size() - 1);
+            migrated += keys.size();
+
+            if (!pause()) {
+                break;
+            }
+        }
+
+        return migrated;
+    }
+
+    /**
+     * Short pause between batches so the migration never monopolises the database
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(BATCH_PAUSE_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private UUID parseUUID(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            plugin.getLogger().warning("❌ Skipping cooldown row with invalid UUID during migration: " + value);
+            return null;
+        }
+    }
+}
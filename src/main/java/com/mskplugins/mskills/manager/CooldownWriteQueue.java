@@ -0,0 +1,201 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.storage.CooldownKey;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Write-behind buffer for cooldown updates.
+ * Pending writes are coalesced by key (only the latest timestamp is kept) and
+ * flushed as JDBC batches in a single transaction every flush interval, or
+ * earlier once max-batch entries are waiting.
+ */
+public class CooldownWriteQueue {
+
+    private final KillRewardPlugin plugin;
+    private final ConfigManager configManager;
+    private final CooldownManager cooldownManager;
+
+    private final ConcurrentMap<CooldownKey, Long> pendingPerVictim = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Long> pendingGlobal = new ConcurrentHashMap<>();
+
+    // Entries taken by the running flush but not committed yet. Readers still see them here,
+    // so an entry evicted from the cache is never read back from a database that lacks it.
+    private volatile Map<CooldownKey, Long> inFlightPerVictim = Collections.emptyMap();
+    private volatile Map<UUID, Long> inFlightGlobal = Collections.emptyMap();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final Object flushLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> flushTask;
+
+    public CooldownWriteQueue(KillRewardPlugin plugin, CooldownManager cooldownManager) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.cooldownManager = cooldownManager;
+    }
+
+    /**
+     * Start the periodic flush task
+     */
+    public synchronized void start() {
+        if (scheduler == null || scheduler.isShutdown()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "MSKills-WriteBehind");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        reschedule();
+    }
+
+    /**
+     * Re-read the flush interval from config and reschedule the flush task
+     */
+    public synchronized void reschedule() {
+        if (scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        long interval = configManager.getWriteBehindFlushInterval();
+        flushTask = scheduler.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a cooldown write, keeping only the newest timestamp per key
+     */
+    public void enqueue(UUID killerUUID, UUID victimUUID, long time) {
+        pendingPerVictim.merge(new CooldownKey(killerUUID, victimUUID), time, Math::max);
+        pendingGlobal.merge(killerUUID, time, Math::max);
+
+        if (getPendingCount() >= configManager.getWriteBehindMaxBatch() && flushRequested.compareAndSet(false, true)) {
+            ScheduledExecutorService executor = scheduler;
+            if (executor != null && !executor.isShutdown()) {
+                executor.execute(this::flushSafely);
+            } else {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Pending (not yet persisted) per-victim timestamp, or null
+     */
+    public Long getPendingPerVictim(UUID killerUUID, UUID victimUUID) {
+        CooldownKey key = new CooldownKey(killerUUID, victimUUID);
+        Long time = pendingPerVictim.get(key);
+        return time != null ? time : inFlightPerVictim.get(key);
+    }
+
+    /**
+     * Pending (not yet persisted) global timestamp, or null
+     */
+    public Long getPendingGlobal(UUID playerUUID) {
+        Long time = pendingGlobal.get(playerUUID);
+        return time != null ? time : inFlightGlobal.get(playerUUID);
+    }
+
+    public int getPendingCount() {
+        return pendingPerVictim.size() + pendingGlobal.size();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error flushing write-behind cooldowns", e);
+        }
+    }
+
+    /**
+     * Persist everything currently pending in one transaction.
+     * On failure the entries are merged back so the next flush retries them.
+     */
+    public boolean flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+
+            if (pendingPerVictim.isEmpty() && pendingGlobal.isEmpty()) {
+                return true;
+            }
+
+            Map<CooldownKey, Long> perVictim = new ConcurrentHashMap<>();
+            Map<UUID, Long> global = new ConcurrentHashMap<>();
+            inFlightPerVictim = perVictim;
+            inFlightGlobal = global;
+            drain(pendingPerVictim, perVictim);
+            drain(pendingGlobal, global);
+
+            boolean success;
+            try {
+                success = cooldownManager.writeBatch(perVictim, global);
+            } finally {
+                inFlightPerVictim = Collections.emptyMap();
+                inFlightGlobal = Collections.emptyMap();
+            }
+
+            if (!success) {
+                perVictim.forEach((key, time) -> pendingPerVictim.merge(key, time, Math::max));
+                global.forEach((key, time) -> pendingGlobal.merge(key, time, Math::max));
+            } else if (configManager.isDebug()) {
+                plugin.getLogger().info("💾 Flushed " + perVictim.size() + " per-victim and " + global.size() + " global cooldowns");
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Move the current entries from a pending map into the flush batch. An entry that was
+     * overwritten concurrently stays queued for the next flush.
+     */
+    private static <K> void drain(ConcurrentMap<K, Long> pending, Map<K, Long> batch) {
+        for (Map.Entry<K, Long> entry : pending.entrySet()) {
+            K key = entry.getKey();
+            Long time = entry.getValue();
+            // Publish into the batch before removing so readers always find the entry somewhere
+            batch.put(key, time);
+            if (!pending.remove(key, time)) {
+                batch.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Stop the flush task and drain everything that is still pending
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdown();
+                try {
+                    scheduler.awaitTermination(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        // A failed flush re-queues its entries, so give up after a few attempts
+        for (int attempt = 0; attempt < 3 && getPendingCount() > 0; attempt++) {
+            flush();
+        }
+
+        if (getPendingCount() > 0) {
+            plugin.getLogger().severe("❌ Could not persist " + getPendingCount() + " pending cooldowns on shutdown");
+        }
+    }
+}
@@ -1,23 +1,76 @@
 package com.mskplugins.mskills.manager;
 
 import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.storage.ConnectionProvider;
+import com.mskplugins.mskills.storage.CooldownStore;
+import com.mskplugins.mskills.storage.DriverConnectionProvider;
+import com.mskplugins.mskills.storage.H2CooldownStore;
+import com.mskplugins.mskills.storage.JournalCooldownStore;
+import com.mskplugins.mskills.storage.MemoryCooldownStore;
+import com.mskplugins.mskills.storage.MySQLCooldownStore;
+import com.mskplugins.mskills.storage.SQLiteCooldownStore;
+import com.mskplugins.mskills.storage.StorageException;
+import com.mskplugins.mskills.storage.StoreBenchmark;
+import com.mskplugins.mskills.storage.WriteSession;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 
-public class DatabaseManager {
+/**
+ * Owns the configured {@link CooldownStore} and, for the SQL backends, the connection pool, the SQLite
+ * writer thread and the schema version bookkeeping.
+ */
+public class DatabaseManager implements ConnectionProvider {
+
+    public static final int SCHEMA_VERSION = 2;
+
+    private static final int MYSQL_POOL_SIZE = 10;
 
     private final KillRewardPlugin plugin;
     private final ConfigManager configManager;
     private HikariDataSource dataSource;
 
+    // Backend selected by storage.type; unusable until initialize() has run
+    private final CooldownStore store;
+
+    // SQLite only: every write goes through this single connection, the pool is used for reads
+    private SQLiteWriter sqliteWriter;
+
+    // Virtual thread executor only: caps concurrent pooled connections at the pool size, so kill storms
+    // queue here as cheap parked virtual threads instead of timing out inside the pool
+    private final Semaphore connectionPermits;
+    private final int connectionPermitCount;
+
+    // Online v1 -> v2 migration state
+    private volatile boolean legacyMigrationPending;
+    private CooldownSchemaMigration migration;
+
     public DatabaseManager(KillRewardPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
+        this.store = createStore(configManager.getStorageType());
+        this.connectionPermitCount = getConnectionPermitCount(configManager.getStorageType());
+        this.connectionPermits = connectionPermitCount > 0 ? new Semaphore(connectionPermitCount, true) : null;
     }
 
     public boolean initialize() {
@@ -26,11 +79,16 @@ public class DatabaseManager {
         try {
             if (storageType.equals("mysql")) {
                 initializeMySQL();
-            } else {
+            } else if (storageType.equals("h2")) {
+                initializeH2();
+            } else if (!store.isMemoryResident()) {
                 initializeSQLite();
             }
 
-            createTables();
+            store.initialize();
+            if (!store.isMemoryResident()) {
+                createSchemaVersionTable();
+            }
             plugin.getLogger().info("✓ Database initialized successfully (" + storageType + ")");
             return true;
         } catch (Exception e) {
@@ -39,6 +97,36 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Build the backend for storage.type; SQL backends read through this manager's pool
+     */
+    private CooldownStore createStore(String storageType) {
+        String prefix = configManager.getMySQLTablePrefix();
+        switch (storageType) {
+            case "journal":
+                return new JournalCooldownStore(plugin, plugin.getDataFolder().toPath());
+            case "memory":
+                plugin.getLogger().warning("⏳ storage.type is memory: cooldowns are lost on restart");
+                return new MemoryCooldownStore();
+            case "mysql":
+                return new MySQLCooldownStore(this, prefix, this::isLegacyMigrationPending);
+            case "h2":
+                return new H2CooldownStore(this, prefix, this::isLegacyMigrationPending);
+            default:
+                return new SQLiteCooldownStore(this, prefix, this::isLegacyMigrationPending);
+        }
+    }
+
+    /**
+     * One permit per pooled connection; none needed on platform threads or without a pool
+     */
+    private int getConnectionPermitCount(String storageType) {
+        if (!plugin.isVirtualThreadExecutor() || store.isMemoryResident()) {
+            return 0;
+        }
+        return storageType.equals("mysql") ? MYSQL_POOL_SIZE : configManager.getSQLiteReaderPoolSize();
+    }
+
     private void initializeMySQL() {
         HikariConfig config = new HikariConfig();
 
@@ -50,7 +138,7 @@ public class DatabaseManager {
         config.setPassword(configManager.getMySQLPassword());
 
         // Connection pool settings
-        config.setMaximumPoolSize(10);
+        config.setMaximumPoolSize(MYSQL_POOL_SIZE);
         config.setMinimumIdle(2);
         config.setConnectionTimeout(30000);
         config.setIdleTimeout(600000);
@@ -73,74 +161,351 @@ public class DatabaseManager {
 
     private void initializeSQLite() {
         HikariConfig config = new HikariConfig();
+        String jdbcUrl = "jdbc:sqlite:" + plugin.getDataFolder().getAbsolutePath() + "/killrewards.db";
 
-        config.setJdbcUrl("jdbc:sqlite:" + plugin.getDataFolder().getAbsolutePath() + "/killrewards.db");
+        config.setJdbcUrl(jdbcUrl);
         config.setDriverClassName("org.sqlite.JDBC");
 
-        // SQLite specific settings
-        config.setMaximumPoolSize(5);
+        // Reader pool; WAL lets these read while the writer commits
+        config.setMaximumPoolSize(configManager.getSQLiteReaderPoolSize());
         config.setConnectionTimeout(30000);
+        config.setDataSourceProperties(getSQLiteProperties());
 
         dataSource = new HikariDataSource(config);
+        sqliteWriter = new SQLiteWriter(plugin, jdbcUrl, getSQLiteProperties());
     }
 
-    private void createTables() {
-        String storageType = configManager.getStorageType();
+    /**
+     * Embedded H2 in MySQL compatibility mode; the driver is downloaded by the server from plugin.yml libraries
+     */
+    private void initializeH2() {
+        HikariConfig config = new HikariConfig();
+
+        config.setJdbcUrl("jdbc:h2:file:" + plugin.getDataFolder().getAbsolutePath() + "/killrewards;MODE=MySQL");
+        config.setDriverClassName("org.h2.Driver");
+        config.setMaximumPoolSize(configManager.getSQLiteReaderPoolSize());
+        config.setConnectionTimeout(30000);
+
+        dataSource = new HikariDataSource(config);
+    }
 
-        // Use different syntax for MySQL vs SQLite
-        String perVictimTable;
-        String globalCooldownTable;
-
-        if (storageType.equals("mysql")) {
-            // MySQL syntax
-            perVictimTable = "CREATE TABLE IF NOT EXISTS " + configManager.getMySQLTablePrefix() + "per_victim_cooldowns (" +
-                    "killer_uuid VARCHAR(36) NOT NULL," +
-                    "victim_uuid VARCHAR(36) NOT NULL," +
-                    "last_kill_time BIGINT NOT NULL," +
-                    "PRIMARY KEY (killer_uuid, victim_uuid)" +
-                    ")";
-
-            globalCooldownTable = "CREATE TABLE IF NOT EXISTS " + configManager.getMySQLTablePrefix() + "global_player_cooldowns (" +
-                    "player_uuid VARCHAR(36) PRIMARY KEY," +
-                    "last_global_kill_time BIGINT NOT NULL" +
-                    ")";
-        } else {
-            // SQLite syntax
-            perVictimTable = "CREATE TABLE IF NOT EXISTS " + configManager.getMySQLTablePrefix() + "per_victim_cooldowns (" +
-                    "killer_uuid TEXT NOT NULL," +
-                    "victim_uuid TEXT NOT NULL," +
-                    "last_kill_time INTEGER NOT NULL," +
-                    "PRIMARY KEY (killer_uuid, victim_uuid)" +
-                    ")";
-
-            globalCooldownTable = "CREATE TABLE IF NOT EXISTS " + configManager.getMySQLTablePrefix() + "global_player_cooldowns (" +
-                    "player_uuid TEXT PRIMARY KEY," +
-                    "last_global_kill_time INTEGER NOT NULL" +
-                    ")";
+    /**
+     * Pragmas applied by the SQLite driver to every new connection (storage.sqlite)
+     */
+    private Properties getSQLiteProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", configManager.getSQLiteJournalMode());
+        properties.setProperty("synchronous", configManager.getSQLiteSynchronous());
+        properties.setProperty("cache_size", String.valueOf(configManager.getSQLiteCacheSize()));
+        properties.setProperty("mmap_size", String.valueOf(configManager.getSQLiteMmapSize()));
+        properties.setProperty("busy_timeout", String.valueOf(configManager.getSQLiteBusyTimeout()));
+        properties.setProperty("temp_store", "MEMORY");
+        return properties;
+    }
+
+    /**
+     * Run a write transaction and wait for it. On SQLite it is executed by the single writer thread;
+     * on MySQL and H2 it runs on the calling thread with a pooled connection.
+     */
+    @Override
+    public <T> T write(WriteTask<T> task) throws SQLException {
+        if (sqliteWriter != null) {
+            return sqliteWriter.write(task);
         }
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt1 = conn.prepareStatement(perVictimTable);
-             PreparedStatement stmt2 = conn.prepareStatement(globalCooldownTable)) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            WriteSession session = new WriteSession(conn);
+            try {
+                T result = task.run(session);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                session.release();
+            }
+        }
+    }
 
-            stmt1.execute();
-            stmt2.execute();
+    /**
+     * Run a write transaction without blocking the caller. Failures complete the future exceptionally.
+     */
+    @Override
+    public <T> CompletableFuture<T> writeAsync(WriteTask<T> task) {
+        if (sqliteWriter != null) {
+            return sqliteWriter.writeAsync(task);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(task);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, plugin.getAsyncExecutor());
+    }
+
+    /**
+     * The v2 tables are created by the store; this tracks which schema they hold and starts the v1 -> v2 copy
+     */
+    private void createSchemaVersionTable() {
+        String schemaVersionTable = "CREATE TABLE IF NOT EXISTS " + configManager.getMySQLTablePrefix() + "schema_version (" +
+                "id INT PRIMARY KEY," +
+                "version INT NOT NULL" +
+                ")";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(schemaVersionTable)) {
 
+            stmt.execute();
             plugin.getLogger().info("✓ Database tables created successfully");
 
+            int version = readSchemaVersion(conn);
+            if (version < 0) {
+                // Fresh install or an install from before the version table existed
+                version = tableExists(conn, getLegacyPerVictimTable()) || tableExists(conn, getLegacyGlobalTable()) ? 1 : SCHEMA_VERSION;
+                writeSchemaVersion(conn, version);
+            }
+
+            if (version < SCHEMA_VERSION) {
+                legacyMigrationPending = true;
+                migration = new CooldownSchemaMigration(plugin, this);
+                migration.start();
+            }
+
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "❌ Failed to create database tables", e);
         }
     }
 
+    private int readSchemaVersion(Connection conn) throws SQLException {
+        String query = "SELECT version FROM " + configManager.getMySQLTablePrefix() + "schema_version WHERE id = 1";
+        try (PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt("version") : -1;
+        }
+    }
+
+    /**
+     * Plain UPDATE then INSERT, so the same statements work on every SQL backend
+     */
+    private void writeSchemaVersion(Connection conn, int version) throws SQLException {
+        String table = configManager.getMySQLTablePrefix() + "schema_version";
+        try (PreparedStatement update = conn.prepareStatement("UPDATE " + table + " SET version = ? WHERE id = 1")) {
+            update.setInt(1, version);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO " + table + " (id, version) VALUES (1, ?)")) {
+            insert.setInt(1, version);
+            insert.executeUpdate();
+        }
+    }
+
+    private boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getTables(conn.getCatalog(), null, table, null)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Called by the migration once every v1 row has been copied into the v2 tables
+     */
+    void completeMigration() throws SQLException {
+        try (Connection conn = getConnection()) {
+            writeSchemaVersion(conn, SCHEMA_VERSION);
+        }
+        legacyMigrationPending = false;
+        plugin.getLogger().info("✓ Cooldown tables migrated to schema v" + SCHEMA_VERSION +
+                " (" + getLegacyPerVictimTable() + " and " + getLegacyGlobalTable() + " can now be dropped)");
+    }
+
+    // v1 table names; the v2 tables belong to the store
+    public String getLegacyPerVictimTable() {
+        return configManager.getMySQLTablePrefix() + "per_victim_cooldowns";
+    }
+
+    public String getLegacyGlobalTable() {
+        return configManager.getMySQLTablePrefix() + "global_player_cooldowns";
+    }
+
+    /**
+     * The cooldown backend selected by storage.type
+     */
+    public CooldownStore getStore() {
+        return store;
+    }
+
+    /**
+     * True while v1 rows are still being copied; lookups that miss v2 should also check v1
+     */
+    public boolean isLegacyMigrationPending() {
+        return legacyMigrationPending;
+    }
+
+    /**
+     * Run the store conformance checks and benchmark against scratch instances of the local backends
+     * (memory, journal, SQLite, H2). Blocking; call it off the main thread. Returns chat lines.
+     */
+    public List<String> runStoreBenchmark(int operations) {
+        List<String> lines = new ArrayList<>();
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("mskills-benchmark");
+        } catch (IOException e) {
+            lines.add("&c❌ Could not create a scratch directory: " + e.getMessage());
+            return lines;
+        }
+
+        try {
+            benchmarkStore(lines, "memory", MemoryCooldownStore::new, operations);
+            benchmarkStore(lines, "journal", () -> new JournalCooldownStore(plugin, directory.resolve("journal")), operations);
+            benchmarkStore(lines, "sqlite", () -> new SQLiteCooldownStore(new DriverConnectionProvider("org.sqlite.JDBC",
+                    "jdbc:sqlite:" + directory.resolve("benchmark.db"), plugin.getAsyncExecutor()), "", () -> false), operations);
+            benchmarkStore(lines, "h2", () -> new H2CooldownStore(new DriverConnectionProvider("org.h2.Driver",
+                    "jdbc:h2:file:" + directory.resolve("benchmark") + ";MODE=MySQL", plugin.getAsyncExecutor()), "", () -> false), operations);
+        } finally {
+            deleteRecursively(directory);
+        }
+        return lines;
+    }
+
+    /**
+     * Whether cooldowns live on the configured MySQL server, the only backend {@link #runMySQLBenchmark} can reach
+     */
+    public boolean isMySQLStorage() {
+        return store instanceof MySQLCooldownStore && !(store instanceof H2CooldownStore);
+    }
+
+    /**
+     * Conformance checks and benchmark against scratch tables on the live MySQL server, next to the plugin's
+     * own tables and dropped again afterwards. Loads the production database, so it only runs on request.
+     */
+    public List<String> runMySQLBenchmark(int operations) {
+        List<String> lines = new ArrayList<>();
+        if (!isMySQLStorage()) {
+            lines.add("&7- mysql: skipped (storage type is not mysql)");
+            return lines;
+        }
+        benchmarkStore(lines, "mysql", () -> new MySQLCooldownStore(this, configManager.getMySQLTablePrefix() + "benchmark_", () -> false), operations);
+        return lines;
+    }
+
+    @FunctionalInterface
+    private interface StoreFactory {
+        CooldownStore create() throws StorageException;
+    }
+
+    private void benchmarkStore(List<String> lines, String name, StoreFactory factory, int operations) {
+        CooldownStore scratch = null;
+        try {
+            scratch = factory.create();
+            scratch.initialize();
+
+            List<String> failures = StoreBenchmark.runConformance(scratch);
+            lines.add(failures.isEmpty()
+                    ? "&a✓ " + name + "&7: conformance passed"
+                    : "&c❌ " + name + "&7: failed " + String.join(", ", failures));
+
+            StoreBenchmark.Result result = StoreBenchmark.runBenchmark(scratch, operations);
+            for (StoreBenchmark.Phase phase : result.getPhases()) {
+                lines.add("&7  " + phase);
+            }
+        } catch (StorageException e) {
+            lines.add("&7- " + name + ": skipped (" + e.getMessage() + ")");
+            if (configManager.isDebug()) {
+                plugin.getLogger().log(Level.INFO, "💾 Benchmark of " + name + " storage failed", e);
+            }
+        } finally {
+            if (scratch instanceof MySQLCooldownStore && !(scratch instanceof H2CooldownStore)) {
+                try {
+                    ((MySQLCooldownStore) scratch).dropTables();
+                } catch (StorageException e) {
+                    plugin.getLogger().log(Level.WARNING, "❌ Could not drop benchmark tables", e);
+                }
+            }
+            if (scratch != null) {
+                scratch.close();
+            }
+        }
+    }
+
+    private void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            plugin.getLogger().warning("❌ Could not delete benchmark directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    @Override
     public Connection getConnection() throws SQLException {
         if (dataSource == null) {
             throw new SQLException("DataSource is not initialized");
         }
-        return dataSource.getConnection();
+        if (connectionPermits == null) {
+            return dataSource.getConnection();
+        }
+
+        try {
+            connectionPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            return releasePermitOnClose(dataSource.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            connectionPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wrap a pooled connection so closing it also returns its permit, exactly once
+     */
+    private Connection releasePermitOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            connectionPermits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Connections virtual threads may hold at once, 0 when unbounded
+     */
+    public int getConnectionPermits() {
+        return connectionPermitCount;
     }
 
     public void close() {
+        if (migration != null) {
+            migration.stop();
+        }
+
+        store.close();
+
+        if (sqliteWriter != null) {
+            sqliteWriter.shutdown();
+        }
+
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             plugin.getLogger().info("✓ Database connection closed");
@@ -2,6 +2,7 @@ package com.mskplugins.mskills.manager;
 
 import com.mskplugins.mskills.KillRewardPlugin;
 import com.mskplugins.mskills.util.SoundResolver;
+import com.mskplugins.mskills.util.TextTemplate;
 import com.mskplugins.mskills.util.TextUtils;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
@@ -13,6 +14,10 @@ public class EffectManager {
     private final ConfigManager configManager;
     private final SoundResolver soundResolver;
 
+    // Compiled action bar messages, recompiled when the configured text changes
+    private TextTemplate rewardActionBar;
+    private TextTemplate deniedActionBar;
+
     public EffectManager(KillRewardPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
@@ -48,26 +53,27 @@ public class EffectManager {
 
     public void sendRewardActionBar(Player player, String victimName) {
         if (!configManager.isActionBarEnabled() || !configManager.isRewardActionBarEnabled()) return;
-        String message = configManager.getRewardActionBarMessage().replace("%victim%", victimName);
-        sendActionBar(player, message, configManager.getRewardActionBarDuration(), "reward");
+        rewardActionBar = compile(rewardActionBar, configManager.getRewardActionBarMessage(), "victim");
+        sendActionBar(player, rewardActionBar, configManager.getRewardActionBarDuration(), "reward", victimName);
     }
 
     public void sendDeniedActionBar(Player player, String time) {
         if (!configManager.isActionBarEnabled() || !configManager.isDeniedActionBarEnabled()) return;
-        String message = configManager.getDeniedActionBarMessage().replace("%time%", time);
-        sendActionBar(player, message, configManager.getDeniedActionBarDuration(), "denied");
+        deniedActionBar = compile(deniedActionBar, configManager.getDeniedActionBarMessage(), "time");
+        sendActionBar(player, deniedActionBar, configManager.getDeniedActionBarDuration(), "denied", time);
     }
 
-    private void sendActionBar(Player player, String message, int duration, String type) {
-        try {
-            // Replace placeholders
-            message = message.replace("%player%", player.getName());
+    private static TextTemplate compile(TextTemplate current, String message, String placeholder) {
+        return current != null && current.getSource().equals(message) ? current : TextTemplate.compile(message, placeholder, "player");
+    }
 
-            // Send actionbar
-            TextUtils.sendActionBar(player, message);
+    private void sendActionBar(Player player, TextTemplate template, int duration, String type, String value) {
+        try {
+            // Placeholders are filled in by the template
+            TextUtils.sendActionBar(player, template, value, player.getName());
 
             if (configManager.isDebug()) {
-                plugin.getLogger().info("📱 Sent " + type + " actionbar to " + player.getName() + ": " + message);
+                plugin.getLogger().info("📱 Sent " + type + " actionbar to " + player.getName() + ": " + template.fill(value, player.getName()));
             }
 
             // Clear after duration
@@ -89,7 +95,7 @@ public class EffectManager {
 
             // Fallback: send as normal message
             try {
-                String fallbackMessage = "⚔️ " + message.replace("%player%", player.getName());
+                String fallbackMessage = "⚔️ " + template.fill(value, player.getName());
                 TextUtils.sendMessage(player, fallbackMessage);
             } catch (Exception ex) {
                 plugin.getLogger().severe("❌ Failed to send fallback message: " + ex.getMessage());
@@ -140,7 +146,7 @@ public class EffectManager {
                 sendRewardActionBar(player, "TestVictim");
                 TextUtils.sendMessage(player, "&aTesting reward actionbar...");
             } else {
-                sendActionBar(player, message, 60, "test");
+                sendActionBar(player, TextTemplate.compile(message, "player"), 60, "test", player.getName());
                 TextUtils.sendMessage(player, "&aTesting actionbar: &e" + message);
             }
         } catch (Exception e) {
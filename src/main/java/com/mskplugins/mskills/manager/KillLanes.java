@@ -0,0 +1,254 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import org.bukkit.entity.Player;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Kill processing partitioned by killer into single-consumer lanes. The server thread snapshots each kill
+ * into a preallocated {@link KillRecord} slot of the killer's lane ring; the lane drains its ring on the
+ * async executor one record at a time, so one killer's kills are decided strictly in arrival order without
+ * locks, while kills of different killers still run in parallel across lanes. A kill waiting on storage
+ * parks its lane instead of a pool thread: the lane resumes when the handler's future completes. A kill that
+ * finds its ring full spills into the lane's overflow queue, which the lane drains after the ring.
+ */
+public class KillLanes {
+
+    // Records a lane handles before yielding its pool thread to other lanes
+    private static final int DRAIN_BATCH = 32;
+
+    private final KillRewardPlugin plugin;
+    private final ConfigManager configManager;
+    private final Executor executor;
+    private final Lane[] lanes;
+    private final LongAdder overflowed = new LongAdder();
+
+    private volatile KillHandler handler;
+
+    public KillLanes(KillRewardPlugin plugin, Executor executor, int laneCount, int laneCapacity) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.executor = executor;
+        this.lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(laneCapacity);
+        }
+    }
+
+    /**
+     * Set the consumer every lane hands its records to
+     */
+    public void setHandler(KillHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Snapshot a kill into the killer's lane. Server thread only, as each ring has a single producer.
+     */
+    public void publish(Player killer, Player victim, KillStreakTracker.Streak killerStreak) {
+        Lane lane = lanes[Math.floorMod(killer.getUniqueId().hashCode(), lanes.length)];
+        boolean captureAddresses = configManager.isIPCheckEnabled();
+        long timestamp = System.currentTimeMillis();
+
+        // Once kills overflow, later ones follow them there so the lane still sees them in order
+        KillRecord record = lane.overflowSize.get() == 0 ? lane.ring.claim() : null;
+        if (record != null) {
+            record.capture(killer, victim, killerStreak, captureAddresses, timestamp);
+            lane.ring.publish();
+        } else {
+            KillRecord spilled = new KillRecord();
+            spilled.capture(killer, victim, killerStreak, captureAddresses, timestamp);
+            // Counted before it is visible, so the consumer never takes the size below zero
+            boolean first = lane.overflowSize.getAndIncrement() == 0;
+            lane.overflow.add(spilled);
+            overflowed.increment();
+            if (first) {
+                plugin.getLogger().warning("⏳ Kill lane full (" + lane.ring.capacity() + " pending), queueing further kills in its overflow");
+            }
+        }
+
+        lane.maxDepth.accumulateAndGet(lane.depth(), Math::max);
+        lane.schedule();
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public int getLaneCapacity() {
+        return lanes[0].ring.capacity();
+    }
+
+    /**
+     * Kills waiting or running across all lanes
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.depth();
+        }
+        return depth;
+    }
+
+    /**
+     * Deepest any single lane has been
+     */
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (Lane lane : lanes) {
+            max = Math.max(max, lane.maxDepth.get());
+        }
+        return max;
+    }
+
+    public long getProcessedCount() {
+        long processed = 0L;
+        for (Lane lane : lanes) {
+            processed += lane.processed.sum();
+        }
+        return processed;
+    }
+
+    /**
+     * Kills that found their lane's ring full and waited in its overflow queue
+     */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    /**
+     * Mean time a kill spent being processed, in milliseconds; 0 before the first kill
+     */
+    public double getAverageProcessingMillis() {
+        long processed = 0L;
+        long busyNanos = 0L;
+        for (Lane lane : lanes) {
+            processed += lane.processed.sum();
+            busyNanos += lane.busyNanos.sum();
+        }
+        return processed == 0L ? 0D : busyNanos / 1_000_000D / processed;
+    }
+
+    /**
+     * Consumer of published kills. The record stays valid until the returned future completes, and the
+     * lane handles nothing else until then; null counts as already complete.
+     */
+    @FunctionalInterface
+    public interface KillHandler {
+        CompletableFuture<Void> handle(KillRecord record);
+    }
+
+    private final class Lane implements Runnable {
+        final KillRingBuffer ring;
+        // Unbounded spill-over for a full ring; only ever holds kills newer than everything in the ring
+        final Queue<KillRecord> overflow = new ConcurrentLinkedQueue<>();
+        final AtomicInteger overflowSize = new AtomicInteger();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+        final AtomicInteger maxDepth = new AtomicInteger();
+        final LongAdder processed = new LongAdder();
+        final LongAdder busyNanos = new LongAdder();
+
+        Lane(int capacity) {
+            this.ring = new KillRingBuffer(capacity);
+        }
+
+        int depth() {
+            return ring.size() + overflowSize.get();
+        }
+
+        /**
+         * Hand the lane to the executor unless it is already queued or draining there
+         */
+        void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the kills still queued in the lane are dropped with the executor
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            KillHandler consumer = handler;
+            KillRecord record;
+            for (int drained = 0; drained < DRAIN_BATCH && (record = next()) != null; drained++) {
+                boolean fromRing = record != overflow.peek();
+                long start = System.nanoTime();
+                CompletableFuture<Void> outcome = handle(consumer, record);
+                if (!outcome.isDone()) {
+                    // Parked on storage: the slot stays claimed and the lane stays scheduled until the lookup is done
+                    outcome.whenComplete((ignored, error) -> {
+                        release(fromRing, start, error);
+                        resume();
+                    });
+                    return;
+                }
+                outcome.whenComplete((ignored, error) -> release(fromRing, start, error));
+            }
+
+            // Re-check after releasing: a kill published during the hand-over would otherwise be stranded
+            scheduled.set(false);
+            if (depth() > 0) {
+                schedule();
+            }
+        }
+
+        /**
+         * Oldest kill of the lane: the ring first, as everything that overflowed came after it
+         */
+        private KillRecord next() {
+            KillRecord record = ring.peek();
+            return record != null ? record : overflow.peek();
+        }
+
+        private CompletableFuture<Void> handle(KillHandler consumer, KillRecord record) {
+            try {
+                CompletableFuture<Void> outcome = consumer != null ? consumer.handle(record) : null;
+                return outcome != null ? outcome : CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+
+        private void release(boolean fromRing, long start, Throwable error) {
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "❌ Error processing kill reward", error);
+            }
+            if (fromRing) {
+                ring.release();
+            } else {
+                overflow.poll();
+                overflowSize.decrementAndGet();
+            }
+            busyNanos.add(System.nanoTime() - start);
+            processed.increment();
+        }
+
+        /**
+         * Continue draining after a parked kill completed; the lane is still marked scheduled
+         */
+        private void resume() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the kills still queued in the lane are dropped with the executor
+                scheduled.set(false);
+            }
+        }
+    }
+}
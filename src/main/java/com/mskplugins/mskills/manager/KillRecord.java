@@ -0,0 +1,152 @@
+package com.mskplugins.mskills.manager;
+
+import org.bukkit.entity.Player;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Snapshot of one kill, taken on the server thread so workers never touch live {@link Player} objects.
+ * Records are preallocated slots of a {@link KillRingBuffer} and reused once consumed, except for kills
+ * that overflow a full ring, which get a record of their own. After publishing they are read-only, and a
+ * consumer must copy out anything it keeps beyond its callback.
+ */
+public final class KillRecord {
+
+    private static final int MAX_ADDRESS_BYTES = 16;
+
+    private UUID killerUUID;
+    private UUID victimUUID;
+    private String killerName;
+    private String victimName;
+    private final byte[] killerAddress = new byte[MAX_ADDRESS_BYTES];
+    private final byte[] victimAddress = new byte[MAX_ADDRESS_BYTES];
+    private int killerAddressLength;
+    private int victimAddressLength;
+    private String worldName;
+    private double killerHealth;
+    private KillStreakTracker.Streak killerStreak;
+    private int streak;
+    private boolean bypass;
+    private long timestamp;
+
+    KillRecord() {
+    }
+
+    /**
+     * Fill this slot from the live players; IP bytes are only copied when the IP check needs them
+     */
+    void capture(Player killer, Player victim, KillStreakTracker.Streak killerStreak, boolean captureAddresses, long timestamp) {
+        this.killerUUID = killer.getUniqueId();
+        this.victimUUID = victim.getUniqueId();
+        this.killerName = killer.getName();
+        this.victimName = victim.getName();
+        this.killerAddressLength = captureAddresses ? copyAddress(killer, killerAddress) : 0;
+        this.victimAddressLength = captureAddresses ? copyAddress(victim, victimAddress) : 0;
+        this.worldName = victim.getWorld().getName();
+        this.killerHealth = killer.getHealth();
+        this.killerStreak = killerStreak;
+        this.streak = 0;
+        this.bypass = killer.hasPermission("reward.bypass");
+        this.timestamp = timestamp;
+    }
+
+    private static int copyAddress(Player player, byte[] target) {
+        InetSocketAddress socketAddress = player.getAddress();
+        InetAddress address = socketAddress != null ? socketAddress.getAddress() : null;
+        if (address == null) {
+            return 0;
+        }
+        byte[] raw = address.getAddress();
+        System.arraycopy(raw, 0, target, 0, raw.length);
+        return raw.length;
+    }
+
+    public UUID getKillerUUID() {
+        return killerUUID;
+    }
+
+    public UUID getVictimUUID() {
+        return victimUUID;
+    }
+
+    public String getKillerName() {
+        return killerName;
+    }
+
+    public String getVictimName() {
+        return victimName;
+    }
+
+    /**
+     * True if both players' IP addresses were captured
+     */
+    public boolean hasAddresses() {
+        return killerAddressLength > 0 && victimAddressLength > 0;
+    }
+
+    public boolean isSameAddress() {
+        return hasAddresses() && Arrays.equals(killerAddress, 0, killerAddressLength, victimAddress, 0, victimAddressLength);
+    }
+
+    /**
+     * Killer address for debug output; allocates, so only call it when logging
+     */
+    public String describeKillerAddress() {
+        return describe(killerAddress, killerAddressLength);
+    }
+
+    public String describeVictimAddress() {
+        return describe(victimAddress, victimAddressLength);
+    }
+
+    private static String describe(byte[] address, int length) {
+        if (length == 0) {
+            return "unknown";
+        }
+        try {
+            return InetAddress.getByAddress(Arrays.copyOf(address, length)).getHostAddress();
+        } catch (UnknownHostException e) {
+            return "invalid";
+        }
+    }
+
+    /**
+     * World the victim died in
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public double getKillerHealth() {
+        return killerHealth;
+    }
+
+    /**
+     * Count this kill into the streak of the killer's life it happened in; call once, when it is rewarded
+     */
+    public void countStreak() {
+        streak = killerStreak != null ? killerStreak.increment() : 1;
+    }
+
+    /**
+     * Killer's rewarded kills since their last death, including this one; 0 before {@link #countStreak}
+     */
+    public int getStreak() {
+        return streak;
+    }
+
+    /**
+     * Whether the killer held reward.bypass when the kill happened
+     */
+    public boolean isBypass() {
+        return bypass;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
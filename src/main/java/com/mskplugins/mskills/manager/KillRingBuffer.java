@@ -0,0 +1,68 @@
+package com.mskplugins.mskills.manager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer, single-consumer ring of preallocated {@link KillRecord} slots. The server
+ * thread claims a slot, fills it and publishes it; the lane draining the ring reads it in place and
+ * releases it. Sequences only grow, so the backlog is simply published minus consumed.
+ */
+final class KillRingBuffer {
+
+    private final KillRecord[] slots;
+    private final int mask;
+
+    // Producer side; only the server thread touches claimSequence
+    private long claimSequence;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    KillRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new KillRecord[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new KillRecord();
+        }
+    }
+
+    /**
+     * Next free slot to fill, or null if the consumer has fallen a whole ring behind
+     */
+    KillRecord claim() {
+        if (claimSequence - consumed.get() >= slots.length) {
+            return null;
+        }
+        return slots[(int) (claimSequence & mask)];
+    }
+
+    /**
+     * Make the slot returned by the last {@link #claim} visible to the consumer
+     */
+    void publish() {
+        published.lazySet(++claimSequence);
+    }
+
+    /**
+     * Oldest published slot not yet released, or null if the ring is empty
+     */
+    KillRecord peek() {
+        long next = consumed.get();
+        return next < published.get() ? slots[(int) (next & mask)] : null;
+    }
+
+    /**
+     * Hand the slot returned by {@link #peek} back to the producer
+     */
+    void release() {
+        consumed.lazySet(consumed.get() + 1);
+    }
+
+    int size() {
+        return (int) (published.get() - consumed.get());
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
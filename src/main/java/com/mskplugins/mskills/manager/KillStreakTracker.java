@@ -0,0 +1,53 @@
+package com.mskplugins.mskills.manager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rewarded kills per player since their last death. The map is only touched from the server thread (death
+ * and quit events); a kill carries its killer's {@link Streak} to the lane, which counts it once the kill
+ * is rewarded, so denied kills never raise a streak.
+ */
+public class KillStreakTracker {
+
+    private final Map<UUID, Streak> streaks = new HashMap<>();
+
+    /**
+     * The killer's streak for their current life, for a kill to count into once it is rewarded
+     */
+    public Streak current(UUID killerUUID) {
+        return streaks.computeIfAbsent(killerUUID, uuid -> new Streak());
+    }
+
+    /**
+     * The player died or left; their streak starts over. Kills still being decided count into the old one.
+     */
+    public void reset(UUID playerUUID) {
+        streaks.remove(playerUUID);
+    }
+
+    public int getStreak(UUID playerUUID) {
+        Streak streak = streaks.get(playerUUID);
+        return streak != null ? streak.get() : 0;
+    }
+
+    /**
+     * Rewarded kills within one life of a player; counted from kill lanes
+     */
+    public static final class Streak {
+        private final AtomicInteger kills = new AtomicInteger();
+
+        /**
+         * Count a rewarded kill, returning the new streak
+         */
+        public int increment() {
+            return kills.incrementAndGet();
+        }
+
+        public int get() {
+            return kills.get();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Funnels main-thread work (reward commands, effects, messages) through one repeating task instead of a
+ * scheduler task per action. Each tick drains the queue until performance.main-thread-budget is used up;
+ * whatever does not fit waits for the next tick, so a kill storm is spread over ticks instead of
+ * stretching one. At least one action runs per tick, so the queue always makes progress.
+ */
+public class MainThreadDispatcher implements Runnable {
+
+    private final KillRewardPlugin plugin;
+    private final ConfigManager configManager;
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder deferredTicks = new LongAdder();
+
+    private BukkitTask task;
+
+    public MainThreadDispatcher(KillRewardPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+    }
+
+    /**
+     * Start draining every tick
+     */
+    public void start() {
+        if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+        }
+    }
+
+    /**
+     * Queue an action for the main thread; safe to call from any thread
+     */
+    public void dispatch(Runnable action) {
+        queue.add(action);
+        pending.incrementAndGet();
+    }
+
+    @Override
+    public void run() {
+        if (pending.get() == 0) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + configManager.getMainThreadBudgetMicros() * 1_000L;
+        Runnable action;
+        do {
+            action = queue.poll();
+            if (action == null) {
+                return;
+            }
+            pending.decrementAndGet();
+            execute(action);
+        } while (System.nanoTime() < deadline);
+
+        if (pending.get() > 0) {
+            deferredTicks.increment();
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("⏳ Main thread budget used up, " + pending.get() + " actions carried over to the next tick");
+            }
+        }
+    }
+
+    private void execute(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error running main thread action", e);
+        } finally {
+            executed.increment();
+        }
+    }
+
+    /**
+     * Stop the repeating task and run whatever is still queued; called on plugin disable from the main thread
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        Runnable action;
+        while ((action = queue.poll()) != null) {
+            pending.decrementAndGet();
+            execute(action);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * Ticks that ended with work left over for the next one
+     */
+    public long getDeferredTicks() {
+        return deferredTicks.sum();
+    }
+}
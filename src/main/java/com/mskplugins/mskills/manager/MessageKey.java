@@ -0,0 +1,115 @@
+package com.mskplugins.mskills.manager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every message the plugin sends, with its config key under messages.&lt;language&gt; and the
+ * placeholder slots it is filled with, in the order {@link MessageManager#send} takes their values.
+ */
+public enum MessageKey {
+
+    // Command messages
+    NO_PERMISSION("no-permission"),
+    CONFIG_RELOADED("config-reloaded"),
+    FEATURE_TOGGLED("feature-toggled", "feature", "state"),
+    LANGUAGE_CHANGED("language-changed", "language"),
+    DEBUG_ENABLED("debug-enabled"),
+    DEBUG_DISABLED("debug-disabled"),
+    COOLDOWN_SET("cooldown-set", "time"),
+    GLOBAL_COOLDOWN_SET("global-cooldown-set", "time"),
+    SOUND_SET("sound-set", "sound"),
+    ACTIONBAR_MESSAGE_SET("actionbar-message-set"),
+    TIME_FORMAT_SET("time-format-set", "format"),
+    CACHE_CLEARED("cache-cleared"),
+
+    // Feature toggle messages
+    REWARDS_ENABLED("rewards-enabled"),
+    REWARDS_DISABLED("rewards-disabled"),
+    IP_CHECK_ENABLED("ip-check-enabled"),
+    IP_CHECK_DISABLED("ip-check-disabled"),
+    COOLDOWN_ENABLED("cooldown-enabled"),
+    COOLDOWN_DISABLED("cooldown-disabled"),
+    SOUND_ENABLED("sound-enabled"),
+    SOUND_DISABLED("sound-disabled"),
+    ACTIONBAR_ENABLED("actionbar-enabled"),
+    ACTIONBAR_DISABLED("actionbar-disabled"),
+
+    // Kill event messages
+    SAME_IP("same-ip"),
+    COOLDOWN("cooldown", "time"),
+    GLOBAL_COOLDOWN("global-cooldown", "time"),
+    REWARD_GIVEN("reward-given", "victim"),
+    SELF_KILL("self-kill"),
+
+    // Command usage messages
+    USAGE_TOGGLE("usage-toggle"),
+    USAGE_SET("usage-set"),
+    USAGE_TEST("usage-test"),
+    USAGE_LANGUAGE("usage-language"),
+    USAGE_MESSAGE("usage-message"),
+    FEATURES_LIST("features-list"),
+    SETTINGS_LIST("settings-list"),
+
+    // Status and help
+    STATUS_HEADER("status-header"),
+    STATUS_LINE("status-line", "feature", "status"),
+    HELP_HEADER("help-header"),
+    HELP_LINE("help-line", "command", "description"),
+
+    // Error messages
+    PLAYER_NOT_FOUND("player-not-found"),
+    INVALID_NUMBER("invalid-number"),
+    INVALID_TIME_FORMAT("invalid-time-format"),
+    INVALID_SOUND("invalid-sound"),
+    INVALID_LANGUAGE("invalid-language"),
+    INVALID_FEATURE("invalid-feature", "feature"),
+    INVALID_SETTING("invalid-setting", "setting"),
+    INVALID_TEST_TYPE("invalid-test-type"),
+    PLAYER_ONLY_COMMAND("player-only-command"),
+
+    // State words
+    ENABLED("enabled"),
+    DISABLED("disabled"),
+    ON("on"),
+    OFF("off");
+
+    private static final Map<String, MessageKey> BY_KEY = new HashMap<>();
+
+    static {
+        for (MessageKey messageKey : values()) {
+            BY_KEY.put(messageKey.key, messageKey);
+        }
+    }
+
+    private final String key;
+    private final String[] slots;
+
+    MessageKey(String key, String... slots) {
+        this.key = key;
+        this.slots = slots;
+    }
+
+    /**
+     * The message for a config key, or null if no message uses that key
+     */
+    public static MessageKey fromKey(String key) {
+        return BY_KEY.get(key);
+    }
+
+    public static Map<String, MessageKey> byKey() {
+        return Collections.unmodifiableMap(BY_KEY);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Placeholder names without the surrounding %
+     */
+    public String[] getSlots() {
+        return slots.clone();
+    }
+}
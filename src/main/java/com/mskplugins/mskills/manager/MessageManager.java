@@ -1,17 +1,30 @@
 package com.mskplugins.mskills.manager;
 
 import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.util.TextTemplate;
 import com.mskplugins.mskills.util.TextUtils;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * The message catalog. On load every {@link MessageKey} is compiled once into a {@link TextTemplate}
+ * holding its parsed components, so sending a message only fills its placeholder slots. Unknown and
+ * missing keys are reported once at load instead of on every send.
+ */
 public class MessageManager {
 
     private final KillRewardPlugin plugin;
     private final ConfigManager configManager;
     private final Map<String, String> messages;
+    private volatile Map<MessageKey, TextTemplate> templates = new EnumMap<>(MessageKey.class);
     private String language;
 
     public MessageManager(KillRewardPlugin plugin) {
@@ -29,21 +42,53 @@ public class MessageManager {
         // Load messages for selected language
         String messagePath = "messages." + language + ".";
 
-        if (config.getConfigurationSection("messages." + language) != null) {
-            for (String key : config.getConfigurationSection("messages." + language).getKeys(false)) {
+        ConfigurationSection section = config.getConfigurationSection("messages." + language);
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
                 String message = config.getString(messagePath + key);
-                if (message != null) {
-                    messages.put(key, TextUtils.colorize(message));
+                if (message == null) {
+                    continue;
                 }
+                if (MessageKey.fromKey(key) == null) {
+                    plugin.getLogger().warning("❌ Unknown message key '" + key + "' in " + messagePath + "; it is never sent");
+                }
+                messages.put(key, message);
             }
         }
 
         // Load default messages if some are missing
         loadDefaultMessages();
+        compileMessages();
 
         plugin.getLogger().info("✓ Loaded " + messages.size() + " messages for language: " + language);
     }
 
+    /**
+     * Compile every known key; keys without a message fall back to a visible placeholder text
+     */
+    private void compileMessages() {
+        Map<MessageKey, TextTemplate> compiled = new EnumMap<>(MessageKey.class);
+        List<String> missing = new ArrayList<>();
+        for (MessageKey key : MessageKey.values()) {
+            String message = messages.get(key.getKey());
+            if (message == null) {
+                missing.add(key.getKey());
+                message = "&cMessage not found: " + key.getKey();
+            }
+            TextTemplate template = TextTemplate.compile(message, key.getSlots());
+            if (configManager.isDebug() && template.hasExternalPlaceholders() && !TextUtils.hasPlaceholderAPI()) {
+                plugin.getLogger().info("⚙️ Message '" + key.getKey() + "' has placeholders other than " +
+                        template.getSlots() + ", which stay as they are without PlaceholderAPI");
+            }
+            compiled.put(key, template);
+        }
+        templates = compiled;
+
+        if (!missing.isEmpty()) {
+            plugin.getLogger().warning("❌ Missing messages for language " + language + ": " + String.join(", ", missing));
+        }
+    }
+
     private void loadDefaultMessages() {
         if (language.equals("tr")) {
             loadTurkishMessages();
@@ -53,20 +98,6 @@ public class MessageManager {
     }
 
     private void loadEnglishMessages() {
-        // Time unit messages
-        putIfMissing("time.second", "second");
-        putIfMissing("time.second_short", "s");
-        putIfMissing("time.second_plural", "seconds");
-        putIfMissing("time.minute", "minute");
-        putIfMissing("time.minute_short", "m");
-        putIfMissing("time.minute_plural", "minutes");
-        putIfMissing("time.hour", "hour");
-        putIfMissing("time.hour_short", "h");
-        putIfMissing("time.hour_plural", "hours");
-        putIfMissing("time.day", "day");
-        putIfMissing("time.day_short", "d");
-        putIfMissing("time.day_plural", "days");
-
         // Command messages
         putIfMissing("no-permission", "&cYou don't have permission to use this command!");
         putIfMissing("config-reloaded", "&aConfiguration reloaded successfully!");
@@ -79,6 +110,7 @@ public class MessageManager {
         putIfMissing("sound-set", "&aSound set to &e%sound%&a!");
         putIfMissing("actionbar-message-set", "&aActionBar message set!");
         putIfMissing("time-format-set", "&aTime format set to &e%format%&a!");
+        putIfMissing("cache-cleared", "&aCooldown cache cleared successfully!");
 
         // Feature toggle messages
         putIfMissing("rewards-enabled", "&aRewards enabled!");
@@ -99,6 +131,15 @@ public class MessageManager {
         putIfMissing("reward-given", "&aYou received rewards for killing &e%victim%&a!");
         putIfMissing("self-kill", "&cYou cannot receive rewards for killing yourself!");
 
+        // Command usage messages
+        putIfMissing("usage-toggle", "&cUsage: /reward toggle <feature>");
+        putIfMissing("usage-set", "&cUsage: /reward set <setting> <value>");
+        putIfMissing("usage-test", "&cUsage: /reward test <sound|actionbar> [value]");
+        putIfMissing("usage-language", "&cUsage: /reward language <en|tr>");
+        putIfMissing("usage-message", "&cUsage: /reward message <key> <value>");
+        putIfMissing("features-list", "&7Available features: &erewards, ipcheck, cooldown, sound, actionbar, debug");
+        putIfMissing("settings-list", "&7Available settings: &ecooldown, globalcooldown, rewardsound, deniedsound, rewardmessage, deniedmessage, timeformat");
+
         // Status messages
         putIfMissing("status-header", "&6&lMSKills Status");
         putIfMissing("status-line", "&7%feature%: %status%");
@@ -113,6 +154,10 @@ public class MessageManager {
         putIfMissing("invalid-time-format", "&cInvalid time format! Use: default, compact, or detailed");
         putIfMissing("invalid-sound", "&cInvalid sound!");
         putIfMissing("invalid-language", "&cInvalid language! Available: en, tr");
+        putIfMissing("invalid-feature", "&cUnknown feature: &e%feature%");
+        putIfMissing("invalid-setting", "&cUnknown setting: &e%setting%");
+        putIfMissing("invalid-test-type", "&cInvalid test type. Use: sound, actionbar");
+        putIfMissing("player-only-command", "&cThis command can only be used by players!");
 
         // Add any missing messages that might be causing issues
         putIfMissing("enabled", "&aenabled");
@@ -122,20 +167,6 @@ public class MessageManager {
     }
 
     private void loadTurkishMessages() {
-        // Time unit messages
-        putIfMissing("time.second", "saniye");
-        putIfMissing("time.second_short", "sn");
-        putIfMissing("time.second_plural", "saniye");
-        putIfMissing("time.minute", "dakika");
-        putIfMissing("time.minute_short", "dk");
-        putIfMissing("time.minute_plural", "dakika");
-        putIfMissing("time.hour", "saat");
-        putIfMissing("time.hour_short", "sa");
-        putIfMissing("time.hour_plural", "saat");
-        putIfMissing("time.day", "gün");
-        putIfMissing("time.day_short", "g");
-        putIfMissing("time.day_plural", "gün");
-
         // Command messages
         putIfMissing("no-permission", "&cBu komutu kullanma izniniz yok!");
         putIfMissing("config-reloaded", "&aYapılandırma başarıyla yeniden yüklendi!");
@@ -148,6 +179,7 @@ public class MessageManager {
         putIfMissing("sound-set", "&aSes &e%sound% &aolarak ayarlandı!");
         putIfMissing("actionbar-message-set", "&aActionBar mesajı ayarlandı!");
         putIfMissing("time-format-set", "&aZaman formatı &e%format% &aolarak ayarlandı!");
+        putIfMissing("cache-cleared", "&aBekleme önbelleği başarıyla temizlendi!");
 
         // Feature toggle messages
         putIfMissing("rewards-enabled", "&aÖdüller etkinleştirildi!");
@@ -168,6 +200,15 @@ public class MessageManager {
         putIfMissing("reward-given", "&a&e%victim%&a adlı oyuncuyu öldürerek ödül aldınız!");
         putIfMissing("self-kill", "&cKendinizi öldürerek ödül alamazsınız!");
 
+        // Command usage messages
+        putIfMissing("usage-toggle", "&cKullanım: /reward toggle <özellik>");
+        putIfMissing("usage-set", "&cKullanım: /reward set <ayar> <değer>");
+        putIfMissing("usage-test", "&cKullanım: /reward test <ses|actionbar> [değer]");
+        putIfMissing("usage-language", "&cKullanım: /reward language <en|tr>");
+        putIfMissing("usage-message", "&cKullanım: /reward message <anahtar> <değer>");
+        putIfMissing("features-list", "&7Mevcut özellikler: &eödüller, ipcheck, bekleme, ses, actionbar, debug");
+        putIfMissing("settings-list", "&7Mevcut ayarlar: &ebekleme, globalbekleme, ödülsesi, redsesi, ödülmesajı, redmesajı, zamanformatı");
+
         // Status messages
         putIfMissing("status-header", "&6&lMSKills Durum");
         putIfMissing("status-line", "&7%feature%: %status%");
@@ -182,6 +223,10 @@ public class MessageManager {
         putIfMissing("invalid-time-format", "&cGeçersiz zaman formatı! Kullanın: default, compact, detailed");
         putIfMissing("invalid-sound", "&cGeçersiz ses!");
         putIfMissing("invalid-language", "&cGeçersiz dil! Mevcut: en, tr");
+        putIfMissing("invalid-feature", "&cBilinmeyen özellik: &e%feature%");
+        putIfMissing("invalid-setting", "&cBilinmeyen ayar: &e%setting%");
+        putIfMissing("invalid-test-type", "&cGeçersiz test türü. Kullanın: ses, actionbar");
+        putIfMissing("player-only-command", "&cBu komut sadece oyuncular tarafından kullanılabilir!");
 
         // Add any missing messages that might be causing issues
         putIfMissing("enabled", "&aetkinleştirildi");
@@ -192,33 +237,23 @@ public class MessageManager {
 
     private void putIfMissing(String key, String defaultValue) {
         if (!messages.containsKey(key)) {
-            messages.put(key, TextUtils.colorize(defaultValue));
+            messages.put(key, defaultValue);
         }
     }
 
-    public String getMessage(String key) {
-        String message = messages.get(key);
-        if (message == null) {
-            plugin.getLogger().warning("Message key not found: " + key);
-            return "&cMessage not found: " + key;
+    /**
+     * Send a message with one value per slot of its key; empty messages are not sent
+     */
+    public void send(CommandSender sender, MessageKey key, String... values) {
+        TextTemplate template = templates.get(key);
+        if (sender == null || template.isEmpty()) {
+            return;
         }
-        return message;
-    }
-
-    public String getMessage(String key, String... placeholders) {
-        String message = getMessage(key);
-
-        if (placeholders.length % 2 != 0) {
-            plugin.getLogger().warning("Uneven number of placeholders for key: " + key);
-        }
-
-        for (int i = 0; i < placeholders.length; i += 2) {
-            if (i + 1 < placeholders.length) {
-                message = message.replace(placeholders[i], placeholders[i + 1]);
-            }
+        if (sender instanceof Player) {
+            TextUtils.sendMessage(sender, template.render((Player) sender, values));
+        } else {
+            TextUtils.sendMessage(sender, template.render(values));
         }
-
-        return message;
     }
 
     public void reload() {
@@ -229,20 +264,15 @@ public class MessageManager {
         return language;
     }
 
-    public Map<String, String> getMessages() {
-        return new HashMap<>(messages);
-    }
-
     // Method to update a message in config
-    public void setMessage(String key, String value) {
-        String path = "messages." + language + "." + key;
+    public void setMessage(MessageKey key, String value) {
+        String path = "messages." + language + "." + key.getKey();
         configManager.getConfig().set(path, value);
         configManager.saveConfig();
-        messages.put(key, TextUtils.colorize(value));
-    }
+        messages.put(key.getKey(), value);
 
-    // Helper method to check if a message exists
-    public boolean hasMessage(String key) {
-        return messages.containsKey(key);
+        Map<MessageKey, TextTemplate> updated = new EnumMap<>(templates);
+        updated.put(key, TextTemplate.compile(value, key.getSlots()));
+        templates = updated;
     }
-}
\ No newline at end of file
+}
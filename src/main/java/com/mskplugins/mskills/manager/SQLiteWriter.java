@@ -0,0 +1,144 @@
+package com.mskplugins.mskills.manager;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.storage.ConnectionProvider;
+import com.mskplugins.mskills.storage.WriteSession;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The only thread that writes to the SQLite file. SQLite serialises writers anyway, so funnelling every
+ * write through one long-lived connection removes lock contention and busy errors, and lets prepared
+ * statements be reused across transactions. Readers keep using the pool and, in WAL mode, never block it.
+ */
+public class SQLiteWriter {
+
+    private final KillRewardPlugin plugin;
+    private final String jdbcUrl;
+    private final Properties properties;
+    private final ExecutorService executor;
+
+    // Only touched on the writer thread
+    private Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    public SQLiteWriter(KillRewardPlugin plugin, String jdbcUrl, Properties properties) {
+        this.plugin = plugin;
+        this.jdbcUrl = jdbcUrl;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MSKills-SQLiteWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run the task in a transaction on the writer thread and wait for the result
+     */
+    public <T> T write(ConnectionProvider.WriteTask<T> task) throws SQLException {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> execute(task));
+        } catch (RejectedExecutionException e) {
+            throw new SQLException("SQLite writer is shut down", e);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the SQLite writer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("SQLite write failed", e.getCause());
+        }
+    }
+
+    /**
+     * Run the task in a transaction on the writer thread without waiting
+     */
+    public <T> CompletableFuture<T> writeAsync(ConnectionProvider.WriteTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return execute(task);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private <T> T execute(ConnectionProvider.WriteTask<T> task) throws SQLException {
+        Connection conn = getConnection();
+        try {
+            T result = task.run(new WriteSession(conn, statements, true));
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackError) {
+                // The connection is in an unknown state; reopen it for the next task
+                resetConnection();
+            }
+            throw e;
+        }
+    }
+
+    private Connection getConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            statements.clear();
+            connection = DriverManager.getConnection(jdbcUrl, properties);
+            connection.setAutoCommit(false);
+        }
+        return connection;
+    }
+
+    private void resetConnection() {
+        WriteSession.closeStatements(statements);
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Closing is best effort
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * Finish queued writes, then close the writer connection
+     */
+    public void shutdown() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.execute(this::resetConnection);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("❌ SQLite writer did not finish pending writes in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.mskplugins.mskills.manager;
 
 import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.cache.CooldownTable;
+import com.mskplugins.mskills.reward.RewardAggregator;
+import com.mskplugins.mskills.storage.CooldownStore;
+import com.mskplugins.mskills.storage.JournalCooldownStore;
+import com.mskplugins.mskills.util.ComponentCache;
 import com.mskplugins.mskills.util.TextUtils;
 
 public class SettingsManager {
@@ -124,8 +129,60 @@ public class SettingsManager {
                 "&7Debug: " + getStatus(configManager.isDebug()) + "\n" +
                 "&7Language: &f" + configManager.getLanguage().toUpperCase() + "\n" +
                 "&7Storage: &f" + configManager.getStorageType().toUpperCase() + "\n" +
+                "&7Async Executor: &f" + plugin.getAsyncExecutorDescription() + "\n" +
+                getKillLaneStatus() +
+                "&7Main Thread Queue: &f" + plugin.getMainThreadDispatcher().getPendingCount() + " pending, " +
+                plugin.getMainThreadDispatcher().getExecutedCount() + " run, " +
+                plugin.getMainThreadDispatcher().getDeferredTicks() + " ticks over budget\n" +
+                getAggregationStatus() +
+                "&7Component Cache: &f" + getComponentCacheStatus() + "\n" +
                 "&7Cooldown: &f" + TextUtils.formatTime(configManager.getCooldown()) + "\n" +
-                "&7Global Cooldown: &f" + TextUtils.formatTime(configManager.getGlobalCooldown());
+                "&7Global Cooldown: &f" + TextUtils.formatTime(configManager.getGlobalCooldown()) + "\n" +
+                "&7Per-victim Cache: &f" + getCacheStatus(plugin.getCooldownManager().getPerVictimCache()) + "\n" +
+                "&7Global Cache: &f" + getCacheStatus(plugin.getCooldownManager().getGlobalCache()) + "\n" +
+                getJournalStatus() +
+                "&7Purged Rows: &f" + plugin.getPurgeTask().getLastPurgedRows() + " last run, " + plugin.getPurgeTask().getTotalPurgedRows() + " total";
+    }
+
+    private String getAggregationStatus() {
+        long window = configManager.getRewardAggregationWindow();
+        if (window <= 0L) {
+            return "&7Reward Aggregation: " + getStatus(false) + "\n";
+        }
+        RewardAggregator aggregator = plugin.getRewardAggregator();
+        return "&7Reward Aggregation: &f" + window + " ticks, " + aggregator.getPendingBatches() + " pending, " +
+                aggregator.getMergedKills() + " kills merged\n";
+    }
+
+    private String getKillLaneStatus() {
+        KillLanes lanes = plugin.getKillLanes();
+        return "&7Kill Lanes: &f" + lanes.getLaneCount() + " x " + lanes.getLaneCapacity() + " slots, " +
+                lanes.getQueueDepth() + " queued (max " + lanes.getMaxQueueDepth() + " per lane), " +
+                lanes.getProcessedCount() + " kills, " + lanes.getOverflowCount() + " overflowed, " +
+                String.format("%.2f", lanes.getAverageProcessingMillis()) + "ms avg\n";
+    }
+
+    private String getJournalStatus() {
+        CooldownStore store = plugin.getDatabaseManager().getStore();
+        if (!(store instanceof JournalCooldownStore)) {
+            return "";
+        }
+        JournalCooldownStore journal = (JournalCooldownStore) store;
+        return "&7Journal: &f" + journal.getEntryCount() + " entries, " + (journal.getUsedBytes() / 1024L) + " KiB\n";
+    }
+
+    private String getComponentCacheStatus() {
+        ComponentCache cache = TextUtils.getComponentCache();
+        if (cache.getMaximumSize() == 0) {
+            return "&cDisabled&f, " + String.format("%.1f", cache.getAverageParseMicros()) + " µs per parse";
+        }
+        return cache.size() + "/" + cache.getMaximumSize() + " entries, " + TextUtils.formatPercentage(cache.getHitRate()) + " hits, " +
+                String.format("%.1f", cache.getAverageParseMicros()) + " µs per parse";
+    }
+
+    private String getCacheStatus(CooldownTable cache) {
+        return cache.size() + " entries, " + TextUtils.formatPercentage(cache.getHitRate()) + " hits, " +
+                cache.getEvictionCount() + " evicted, " + cache.getExpiredCount() + " expired";
     }
 
     private String getStatus(boolean enabled) {
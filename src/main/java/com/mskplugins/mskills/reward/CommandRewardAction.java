@@ -0,0 +1,42 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Fallback for anything without a typed action: a console command rendered from its template
+ */
+final class CommandRewardAction implements RewardAction {
+
+    private final CommandTemplate template;
+
+    CommandRewardAction(CommandTemplate template) {
+        this.template = template;
+    }
+
+    CommandTemplate getTemplate() {
+        return template;
+    }
+
+    @Override
+    public Prepared prepare(KillRecord kill, StringBuilder builder) {
+        String renderedLine = template.render(kill, builder);
+        return new Prepared() {
+            @Override
+            public void apply(Player killer) {
+                template.execute(Bukkit.getConsoleSender(), renderedLine);
+            }
+
+            @Override
+            public String toString() {
+                return "command /" + renderedLine;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "command /" + template.getSource();
+    }
+}
@@ -0,0 +1,123 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One reward.commands line, split once at load into literal text and placeholder segments, with
+ * the target {@link Command} looked up in advance so a kill only renders and executes.
+ */
+public final class CommandTemplate {
+
+    private final String source;
+    private final String label;
+    // literals[i] precedes placeholders[i]; the last literal ends the line
+    private final String[] literals;
+    private final RewardPlaceholder[] placeholders;
+
+    private volatile Command command;
+
+    private CommandTemplate(String source, String label, String[] literals, RewardPlaceholder[] placeholders) {
+        this.source = source;
+        this.label = label;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Parse a command line; %name% is a placeholder if registered in {@link RewardPlaceholders}, otherwise kept as text
+     */
+    public static CommandTemplate compile(String line) {
+        String source = line.startsWith("/") ? line.substring(1) : line;
+
+        List<String> literals = new ArrayList<>();
+        List<RewardPlaceholder> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf('%', position);
+            int end = start < 0 ? -1 : source.indexOf('%', start + 1);
+            if (end < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+
+            RewardPlaceholder placeholder = RewardPlaceholders.get(source.substring(start + 1, end));
+            if (placeholder == null) {
+                // Not ours: keep the first percent sign and look for a placeholder starting at the second
+                literal.append(source, position, start + 1);
+                position = start + 1;
+                continue;
+            }
+
+            literal.append(source, position, start);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(placeholder);
+            position = end + 1;
+        }
+        literals.add(literal.toString());
+
+        // The label must be plain text to be resolvable up front
+        int space = source.indexOf(' ');
+        String label = space < 0 ? source : source.substring(0, space);
+        if (label.isEmpty() || (placeholders.size() > 0 && literals.get(0).length() < label.length())) {
+            label = null;
+        }
+
+        return new CommandTemplate(source, label, literals.toArray(new String[0]), placeholders.toArray(new RewardPlaceholder[0]));
+    }
+
+    /**
+     * Look the command up in the server's command map; returns false if no such command is registered
+     */
+    public boolean resolve(CommandMap commandMap) {
+        command = label != null ? commandMap.getCommand(label) : null;
+        return command != null || label == null;
+    }
+
+    /**
+     * Render the line for a kill into the given builder, which is cleared first
+     */
+    public String render(KillRecord kill, StringBuilder out) {
+        out.setLength(0);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            placeholders[i].render(kill, out);
+        }
+        out.append(literals[literals.length - 1]);
+        return out.toString();
+    }
+
+    /**
+     * Run a rendered line; main thread only. Falls back to the dispatcher when the command was not resolved.
+     */
+    public boolean execute(CommandSender sender, String renderedLine) {
+        Command target = command;
+        if (target == null) {
+            return Bukkit.dispatchCommand(sender, renderedLine);
+        }
+
+        String[] parts = renderedLine.split(" ");
+        return target.execute(sender, label, Arrays.copyOfRange(parts, 1, parts.length));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isResolved() {
+        return command != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mskplugins.mskills.reward;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Where money rewards are paid. Vault is picked up automatically; another plugin can install its own
+ * provider through {@link RewardActionSet#setEconomyProvider}.
+ */
+public interface EconomyProvider {
+
+    String getName();
+
+    /**
+     * Pay the player; main thread. Returns false if the economy refused the deposit.
+     */
+    boolean deposit(OfflinePlayer player, double amount);
+}
@@ -0,0 +1,48 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.entity.Player;
+
+/**
+ * Gives experience points, or whole levels
+ */
+final class ExperienceRewardAction implements RewardAction, RewardAction.Prepared {
+
+    private final int amount;
+    private final boolean levels;
+
+    ExperienceRewardAction(int amount, boolean levels) {
+        this.amount = amount;
+        this.levels = levels;
+    }
+
+    @Override
+    public Prepared prepare(KillRecord kill, StringBuilder builder) {
+        return this;
+    }
+
+    @Override
+    public void apply(Player killer) {
+        if (killer == null) {
+            return;
+        }
+        if (levels) {
+            killer.giveExpLevels(amount);
+        } else {
+            killer.giveExp(amount);
+        }
+    }
+
+    @Override
+    public Prepared mergeWith(Prepared other) {
+        if (!(other instanceof ExperienceRewardAction) || ((ExperienceRewardAction) other).levels != levels) {
+            return null;
+        }
+        return new ExperienceRewardAction(amount + ((ExperienceRewardAction) other).amount, levels);
+    }
+
+    @Override
+    public String toString() {
+        return "xp " + amount + (levels ? " levels" : " points");
+    }
+}
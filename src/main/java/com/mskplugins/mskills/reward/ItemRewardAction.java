@@ -0,0 +1,59 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Puts items straight into the killer's inventory; what does not fit drops at their feet
+ */
+final class ItemRewardAction implements RewardAction, RewardAction.Prepared {
+
+    private final ItemStack item;
+
+    ItemRewardAction(Material material, int amount) {
+        this.item = new ItemStack(material, amount);
+    }
+
+    private ItemRewardAction(ItemStack item) {
+        this.item = item;
+    }
+
+    @Override
+    public Prepared prepare(KillRecord kill, StringBuilder builder) {
+        return this;
+    }
+
+    @Override
+    public void apply(Player killer) {
+        if (killer == null) {
+            return;
+        }
+        for (ItemStack leftover : killer.getInventory().addItem(item.clone()).values()) {
+            // Merged amounts can exceed a stack; drop them as stacks the client can show and pick up
+            int maxStackSize = Math.max(1, leftover.getMaxStackSize());
+            for (int remaining = leftover.getAmount(); remaining > 0; remaining -= maxStackSize) {
+                ItemStack drop = leftover.clone();
+                drop.setAmount(Math.min(remaining, maxStackSize));
+                killer.getWorld().dropItemNaturally(killer.getLocation(), drop);
+            }
+        }
+    }
+
+    @Override
+    public Prepared mergeWith(Prepared other) {
+        if (!(other instanceof ItemRewardAction) || !item.isSimilar(((ItemRewardAction) other).item)) {
+            return null;
+        }
+        // addItem splits amounts above the stack size across slots, and apply splits what it leaves over
+        ItemStack merged = item.clone();
+        merged.setAmount(item.getAmount() + ((ItemRewardAction) other).item.getAmount());
+        return new ItemRewardAction(merged);
+    }
+
+    @Override
+    public String toString() {
+        return "item " + item.getType() + " x" + item.getAmount();
+    }
+}
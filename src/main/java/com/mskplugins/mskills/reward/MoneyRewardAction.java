@@ -0,0 +1,66 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Deposits money through the active {@link EconomyProvider}; paid even if the killer has logged out
+ */
+final class MoneyRewardAction implements RewardAction {
+
+    private final double amount;
+    private final Supplier<EconomyProvider> economy;
+
+    MoneyRewardAction(double amount, Supplier<EconomyProvider> economy) {
+        this.amount = amount;
+        this.economy = economy;
+    }
+
+    @Override
+    public Prepared prepare(KillRecord kill, StringBuilder builder) {
+        return new Deposit(kill.getKillerUUID(), amount);
+    }
+
+    @Override
+    public String toString() {
+        return "money " + amount;
+    }
+
+    private final class Deposit implements Prepared {
+        private final UUID killerUUID;
+        private final double amount;
+
+        Deposit(UUID killerUUID, double amount) {
+            this.killerUUID = killerUUID;
+            this.amount = amount;
+        }
+
+        @Override
+        public void apply(Player killer) {
+            EconomyProvider provider = economy.get();
+            if (provider == null) {
+                throw new IllegalStateException("no economy provider");
+            }
+            if (!provider.deposit(killer != null ? killer : Bukkit.getOfflinePlayer(killerUUID), amount)) {
+                throw new IllegalStateException(provider.getName() + " refused the deposit");
+            }
+        }
+
+        @Override
+        public Prepared mergeWith(Prepared other) {
+            if (!(other instanceof Deposit) || !((Deposit) other).killerUUID.equals(killerUUID)) {
+                return null;
+            }
+            return new Deposit(killerUUID, amount + ((Deposit) other).amount);
+        }
+
+        @Override
+        public String toString() {
+            return "money " + amount;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Applies a potion effect to the killer
+ */
+final class PotionRewardAction implements RewardAction, RewardAction.Prepared {
+
+    private final PotionEffect effect;
+
+    PotionRewardAction(PotionEffectType type, int durationTicks, int amplifier) {
+        this.effect = new PotionEffect(type, durationTicks, amplifier);
+    }
+
+    @Override
+    public Prepared prepare(KillRecord kill, StringBuilder builder) {
+        return this;
+    }
+
+    @Override
+    public void apply(Player killer) {
+        if (killer != null) {
+            killer.addPotionEffect(effect);
+        }
+    }
+
+    /**
+     * The same effect twice is applied once; it would only overwrite itself
+     */
+    @Override
+    public Prepared mergeWith(Prepared other) {
+        return other instanceof PotionRewardAction && effect.equals(((PotionRewardAction) other).effect) ? this : null;
+    }
+
+    @Override
+    public String toString() {
+        return "potion " + effect.getType().getKey().getKey() + " " + (effect.getAmplifier() + 1) + " for " + effect.getDuration() + " ticks";
+    }
+}
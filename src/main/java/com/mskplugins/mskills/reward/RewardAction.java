@@ -0,0 +1,35 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+import org.bukkit.entity.Player;
+
+/**
+ * One precompiled reward from reward.actions or reward.commands. It is prepared on the kill lane while
+ * the kill snapshot is valid, and the prepared result is applied later on the main thread.
+ */
+public interface RewardAction {
+
+    /**
+     * Capture whatever this kill contributes; actions without placeholders simply return themselves
+     */
+    Prepared prepare(KillRecord kill, StringBuilder builder);
+
+    /**
+     * A reward ready to apply; toString describes it for debug output
+     */
+    interface Prepared {
+
+        /**
+         * Main thread only. The killer is null if they logged out before the reward ran.
+         */
+        void apply(Player killer);
+
+        /**
+         * Combine with a reward of the same kind from another kill in the aggregation window,
+         * e.g. by summing amounts; null if the two must be applied separately
+         */
+        default Prepared mergeWith(Prepared other) {
+            return null;
+        }
+    }
+}
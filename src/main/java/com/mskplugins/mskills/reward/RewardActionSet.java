@@ -0,0 +1,157 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.command.CommandMap;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The precompiled rewards of a kill: typed reward.actions run as direct API calls, then reward.commands
+ * as console command templates. Rebuilt on config load; commands and the economy are resolved once
+ * every plugin is enabled, so typos and missing dependencies surface at startup and reload.
+ */
+public class RewardActionSet {
+
+    private final KillRewardPlugin plugin;
+    private volatile List<RewardAction> actions = Collections.emptyList();
+
+    private volatile EconomyProvider economy;
+    private volatile boolean economyInstalled;
+
+    public RewardActionSet(KillRewardPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Compile the configured actions and command lines; call {@link #resolve} afterwards on the main thread
+     */
+    public void load(List<Map<?, ?>> actionConfigs, List<String> commandLines) {
+        List<RewardAction> compiled = new ArrayList<>(actionConfigs.size() + commandLines.size());
+        for (int i = 0; i < actionConfigs.size(); i++) {
+            try {
+                compiled.add(compile(actionConfigs.get(i)));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("❌ Skipping reward action #" + (i + 1) + " in reward.actions: " + e.getMessage());
+            }
+        }
+        for (String line : commandLines) {
+            if (!line.trim().isEmpty()) {
+                compiled.add(new CommandRewardAction(CommandTemplate.compile(line.trim())));
+            }
+        }
+        actions = Collections.unmodifiableList(compiled);
+    }
+
+    private RewardAction compile(Map<?, ?> config) {
+        String type = getString(config, "type", "").toLowerCase();
+        switch (type) {
+            case "item": {
+                String name = getString(config, "material", "");
+                Material material = Material.matchMaterial(name);
+                if (material == null || !material.isItem()) {
+                    throw new IllegalArgumentException("unknown item material '" + name + "'");
+                }
+                return new ItemRewardAction(material, Math.max(1, getNumber(config, "amount", 1).intValue()));
+            }
+            case "money":
+                return new MoneyRewardAction(getNumber(config, "amount", 0).doubleValue(), () -> economy);
+            case "xp":
+                return new ExperienceRewardAction(getNumber(config, "amount", 0).intValue(),
+                        Boolean.parseBoolean(getString(config, "levels", "false")));
+            case "potion": {
+                String name = getString(config, "effect", "").toLowerCase();
+                NamespacedKey key = name.contains(":") ? NamespacedKey.fromString(name) : NamespacedKey.minecraft(name);
+                PotionEffectType effectType = key != null ? Registry.EFFECT.get(key) : null;
+                if (effectType == null) {
+                    throw new IllegalArgumentException("unknown potion effect '" + name + "'");
+                }
+                return new PotionRewardAction(effectType, getNumber(config, "duration", 200).intValue(),
+                        Math.max(0, getNumber(config, "amplifier", 0).intValue()));
+            }
+            case "command": {
+                String line = getString(config, "command", "").trim();
+                if (line.isEmpty()) {
+                    throw new IllegalArgumentException("command action without a command");
+                }
+                return new CommandRewardAction(CommandTemplate.compile(line));
+            }
+            default:
+                throw new IllegalArgumentException("unknown type '" + type + "' (item, money, xp, potion or command)");
+        }
+    }
+
+    private static String getString(Map<?, ?> config, String key, String defaultValue) {
+        Object value = config.get(key);
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    private static Number getNumber(Map<?, ?> config, String key, Number defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + key + "' is not a number: " + value);
+        }
+    }
+
+    /**
+     * Resolve command templates against the command map and pick up the economy, reporting what is missing
+     */
+    public void resolve() {
+        CommandMap commandMap = plugin.getServer().getCommandMap();
+        int unknown = 0;
+        boolean paysMoney = false;
+        for (RewardAction action : actions) {
+            if (action instanceof CommandRewardAction) {
+                CommandTemplate template = ((CommandRewardAction) action).getTemplate();
+                if (!template.resolve(commandMap)) {
+                    unknown++;
+                    plugin.getLogger().warning("❌ Unknown reward command '/" + template.getLabel() + "': " + template.getSource());
+                }
+            } else if (action instanceof MoneyRewardAction) {
+                paysMoney = true;
+            }
+        }
+
+        if (!economyInstalled) {
+            economy = VaultEconomyProvider.find(plugin.getServer());
+        }
+        if (paysMoney && economy == null) {
+            plugin.getLogger().warning("❌ reward.actions pays money but no economy was found (install Vault and an economy plugin)");
+        }
+
+        if (plugin.getConfigManager().isDebug()) {
+            plugin.getLogger().info("⚙️ Compiled " + actions.size() + " reward actions, " + unknown + " unknown commands, economy: " +
+                    (economy != null ? economy.getName() : "none"));
+        }
+    }
+
+    /**
+     * Use this economy for money rewards instead of Vault; null goes back to Vault detection on the next resolve
+     */
+    public void setEconomyProvider(EconomyProvider provider) {
+        this.economy = provider;
+        this.economyInstalled = provider != null;
+    }
+
+    public EconomyProvider getEconomyProvider() {
+        return economy;
+    }
+
+    public List<RewardAction> getActions() {
+        return actions;
+    }
+}
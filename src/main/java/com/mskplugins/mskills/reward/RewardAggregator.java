@@ -0,0 +1,160 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.manager.ConfigManager;
+import com.mskplugins.mskills.manager.MessageKey;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers prepared rewards, optionally merged per killer over reward.aggregation.window ticks. Within
+ * a window, amounts of mergeable rewards (money, items, xp) are summed, identical potions apply once,
+ * commands still run once per kill, and the killer gets a single message and effect naming every victim.
+ */
+public class RewardAggregator {
+
+    private final KillRewardPlugin plugin;
+    private final ConfigManager configManager;
+
+    private final ConcurrentMap<UUID, Batch> batches = new ConcurrentHashMap<>();
+    private final LongAdder mergedKills = new LongAdder();
+
+    public RewardAggregator(KillRewardPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+    }
+
+    /**
+     * Hand over the rewards of one kill; callable from any thread
+     */
+    public void deliver(UUID killerUUID, String killerName, String victimName, RewardAction.Prepared[] rewards) {
+        long window = configManager.getRewardAggregationWindow();
+        if (window <= 0L) {
+            Batch single = new Batch(killerName);
+            single.add(victimName, rewards);
+            plugin.getMainThreadDispatcher().dispatch(() -> apply(killerUUID, single));
+            return;
+        }
+
+        boolean[] opened = new boolean[1];
+        batches.compute(killerUUID, (uuid, batch) -> {
+            if (batch == null) {
+                batch = new Batch(killerName);
+                opened[0] = true;
+            } else {
+                mergedKills.increment();
+            }
+            batch.add(victimName, rewards);
+            return batch;
+        });
+
+        // The first kill of a window schedules its flush; later kills just join the batch. The timer only
+        // hands the flush to the dispatcher, which keeps reward work within its per-tick budget.
+        if (opened[0]) {
+            plugin.getServer().getScheduler().runTaskLater(plugin,
+                    () -> plugin.getMainThreadDispatcher().dispatch(() -> flush(killerUUID)), window);
+        }
+    }
+
+    private void flush(UUID killerUUID) {
+        Batch batch = batches.remove(killerUUID);
+        if (batch != null) {
+            apply(killerUUID, batch);
+        }
+    }
+
+    /**
+     * Apply every pending batch now; called on plugin disable from the main thread
+     */
+    public void flushAll() {
+        for (UUID killerUUID : new ArrayList<>(batches.keySet())) {
+            flush(killerUUID);
+        }
+    }
+
+    /**
+     * Main thread: apply the merged rewards, then one effect and message for all victims
+     */
+    private void apply(UUID killerUUID, Batch batch) {
+        Player killer = Bukkit.getPlayer(killerUUID);
+        List<RewardAction.Prepared> rewards;
+        synchronized (batch) {
+            rewards = batch.rewards;
+        }
+
+        for (RewardAction.Prepared reward : rewards) {
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("⚙️ Applying reward: " + reward);
+            }
+            try {
+                reward.apply(killer);
+            } catch (Exception e) {
+                plugin.getLogger().warning("❌ Failed to apply reward " + reward + " - " + e.getMessage());
+            }
+        }
+
+        if (killer == null) {
+            return;
+        }
+
+        String victims = String.join(", ", batch.victimNames);
+        plugin.getEffectManager().applyRewardEffects(killer, victims);
+
+        plugin.getMessageManager().send(killer, MessageKey.REWARD_GIVEN, victims);
+
+        if (configManager.isDebug()) {
+            plugin.getLogger().info("✅ Reward effects applied to " + batch.killerName +
+                    (batch.victimNames.size() > 1 ? " for " + batch.victimNames.size() + " kills" : ""));
+        }
+    }
+
+    /**
+     * Kills whose rewards were folded into an earlier kill's batch
+     */
+    public long getMergedKills() {
+        return mergedKills.sum();
+    }
+
+    public int getPendingBatches() {
+        return batches.size();
+    }
+
+    /**
+     * Rewards of one killer within one window, merged as they arrive
+     */
+    private static final class Batch {
+        final String killerName;
+        final List<String> victimNames = Collections.synchronizedList(new ArrayList<>());
+        final List<RewardAction.Prepared> rewards = new ArrayList<>();
+
+        Batch(String killerName) {
+            this.killerName = killerName;
+        }
+
+        synchronized void add(String victimName, RewardAction.Prepared[] kill) {
+            victimNames.add(victimName);
+            for (RewardAction.Prepared reward : kill) {
+                merge(reward);
+            }
+        }
+
+        private void merge(RewardAction.Prepared reward) {
+            for (int i = 0; i < rewards.size(); i++) {
+                RewardAction.Prepared merged = rewards.get(i).mergeWith(reward);
+                if (merged != null) {
+                    rewards.set(i, merged);
+                    return;
+                }
+            }
+            rewards.add(reward);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.mskplugins.mskills.reward;
+
+import com.mskplugins.mskills.manager.KillRecord;
+
+/**
+ * Renders one %name% placeholder of a reward template from the kill snapshot
+ */
+@FunctionalInterface
+public interface RewardPlaceholder {
+
+    /**
+     * Append the value to the builder; runs off the main thread, so only the record may be read
+     */
+    void render(KillRecord kill, StringBuilder out);
+}
@@ -0,0 +1,43 @@
+package com.mskplugins.mskills.reward;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Placeholders known to reward templates, by name without the percent signs. Other plugins or later
+ * features can register more; templates pick them up the next time the config is loaded.
+ */
+public final class RewardPlaceholders {
+
+    private static final Map<String, RewardPlaceholder> PLACEHOLDERS = new ConcurrentHashMap<>();
+
+    static {
+        register("player", (kill, out) -> out.append(kill.getKillerName()));
+        register("killer", (kill, out) -> out.append(kill.getKillerName()));
+        register("victim", (kill, out) -> out.append(kill.getVictimName()));
+        register("killer_uuid", (kill, out) -> out.append(kill.getKillerUUID()));
+        register("victim_uuid", (kill, out) -> out.append(kill.getVictimUUID()));
+        register("world", (kill, out) -> out.append(kill.getWorldName()));
+        register("killer_health", (kill, out) -> out.append(Math.round(kill.getKillerHealth() * 10D) / 10D));
+        register("streak", (kill, out) -> out.append(kill.getStreak()));
+    }
+
+    private RewardPlaceholders() {
+    }
+
+    public static void register(String name, RewardPlaceholder placeholder) {
+        PLACEHOLDERS.put(name.toLowerCase(), placeholder);
+    }
+
+    /**
+     * The placeholder for a name, or null if unknown
+     */
+    public static RewardPlaceholder get(String name) {
+        return PLACEHOLDERS.get(name.toLowerCase());
+    }
+
+    public static Map<String, RewardPlaceholder> getAll() {
+        return Collections.unmodifiableMap(PLACEHOLDERS);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mskplugins.mskills.reward;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.plugin.RegisteredServiceProvider;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Vault's Economy service, called reflectively so Vault stays an optional runtime dependency
+ */
+final class VaultEconomyProvider implements EconomyProvider {
+
+    private static final String ECONOMY_CLASS = "net.milkbowl.vault.economy.Economy";
+    private static final String RESPONSE_CLASS = "net.milkbowl.vault.economy.EconomyResponse";
+
+    private final Object economy;
+    private final String name;
+    private final Method depositPlayer;
+    private final Method transactionSuccess;
+
+    private VaultEconomyProvider(Object economy, String name, Method depositPlayer, Method transactionSuccess) {
+        this.economy = economy;
+        this.name = name;
+        this.depositPlayer = depositPlayer;
+        this.transactionSuccess = transactionSuccess;
+    }
+
+    /**
+     * The registered Vault economy, or null if Vault or an economy plugin is missing
+     */
+    static VaultEconomyProvider find(Server server) {
+        if (server.getPluginManager().getPlugin("Vault") == null) {
+            return null;
+        }
+        try {
+            Class<?> economyClass = Class.forName(ECONOMY_CLASS);
+            RegisteredServiceProvider<?> registration = server.getServicesManager().getRegistration(economyClass);
+            if (registration == null) {
+                return null;
+            }
+            Object economy = registration.getProvider();
+            String name = "Vault/" + economyClass.getMethod("getName").invoke(economy);
+            return new VaultEconomyProvider(economy, name,
+                    economyClass.getMethod("depositPlayer", OfflinePlayer.class, double.class),
+                    Class.forName(RESPONSE_CLASS).getMethod("transactionSuccess"));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean deposit(OfflinePlayer player, double amount) {
+        try {
+            Object response = depositPlayer.invoke(economy, player, amount);
+            return Boolean.TRUE.equals(transactionSuccess.invoke(response));
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Vault deposit failed", e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Vault deposit failed", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.mskplugins.mskills.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where a {@link JdbcCooldownStore} gets its connections. Reads borrow a connection,
+ * writes are handed over as a task so the provider can run them on a dedicated writer.
+ */
+public interface ConnectionProvider {
+
+    Connection getConnection() throws SQLException;
+
+    /**
+     * Run a write transaction and wait for it
+     */
+    <T> T write(WriteTask<T> task) throws SQLException;
+
+    /**
+     * Run a write transaction without blocking the caller. Failures complete the future exceptionally.
+     */
+    <T> CompletableFuture<T> writeAsync(WriteTask<T> task);
+
+    /**
+     * A unit of write work, run inside one transaction
+     */
+    @FunctionalInterface
+    interface WriteTask<T> {
+        T run(WriteSession session) throws SQLException;
+    }
+}
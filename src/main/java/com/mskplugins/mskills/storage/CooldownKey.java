@@ -0,0 +1,44 @@
+package com.mskplugins.mskills.storage;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Killer-victim key of a per-victim cooldown
+ */
+public final class CooldownKey {
+
+    private final UUID killerUUID;
+    private final UUID victimUUID;
+
+    public CooldownKey(UUID killerUUID, UUID victimUUID) {
+        this.killerUUID = killerUUID;
+        this.victimUUID = victimUUID;
+    }
+
+    public UUID getKillerUUID() {
+        return killerUUID;
+    }
+
+    public UUID getVictimUUID() {
+        return victimUUID;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof CooldownKey)) return false;
+        CooldownKey that = (CooldownKey) obj;
+        return killerUUID.equals(that.killerUUID) && victimUUID.equals(that.victimUUID);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(killerUUID, victimUUID);
+    }
+
+    @Override
+    public String toString() {
+        return killerUUID + "->" + victimUUID;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mskplugins.mskills.storage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Persistent home of the kill cooldowns. Times are epoch milliseconds; a store may keep them at a
+ * coarser resolution but must round up, so a stored cooldown never ends earlier than it was written.
+ * Writes keep the newest time per key, which makes replays and out-of-order batches harmless.
+ * Implementations must be thread-safe.
+ */
+public interface CooldownStore {
+
+    /**
+     * Returned by lookups when nothing has been recorded
+     */
+    long NOT_FOUND = Long.MIN_VALUE;
+
+    String getName();
+
+    /**
+     * Create tables, open files, replay journals
+     */
+    void initialize() throws StorageException;
+
+    void close();
+
+    /**
+     * True if every lookup is served from memory, so callers gain nothing from caching in front of it
+     */
+    default boolean isMemoryResident() {
+        return false;
+    }
+
+    long getPerVictim(UUID killerUUID, UUID victimUUID) throws StorageException;
+
+    long getGlobal(UUID playerUUID) throws StorageException;
+
+    /**
+     * The per-victim time of the pair and the killer's global time together; SQL backends answer in one round trip
+     */
+    default CooldownTimes getBoth(UUID killerUUID, UUID victimUUID) throws StorageException {
+        return new CooldownTimes(getPerVictim(killerUUID, victimUUID), getGlobal(killerUUID));
+    }
+
+    /**
+     * Batch lookup; keys without a stored time are left out of the result
+     */
+    Map<CooldownKey, Long> getPerVictim(Collection<CooldownKey> keys) throws StorageException;
+
+    Map<UUID, Long> getGlobal(Collection<UUID> playerUUIDs) throws StorageException;
+
+    /**
+     * Every per-victim time of this killer newer than perVictimSince, plus their global time if newer than globalSince
+     */
+    void loadKiller(UUID killerUUID, long perVictimSince, long globalSince, KillerVisitor visitor) throws StorageException;
+
+    /**
+     * Record one kill: the per-victim and the killer's global time, atomically where the backend allows it
+     */
+    void put(UUID killerUUID, UUID victimUUID, long time) throws StorageException;
+
+    /**
+     * {@link #put} without blocking the caller; backends with their own writer thread override this
+     */
+    default CompletableFuture<Void> putAsync(UUID killerUUID, UUID victimUUID, long time, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                put(killerUUID, victimUUID, time);
+            } catch (StorageException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    void putBatch(Map<CooldownKey, Long> perVictim, Map<UUID, Long> global) throws StorageException;
+
+    /**
+     * Delete at most limit per-victim entries older than the given time, returning how many went
+     */
+    int purgePerVictim(long before, int limit) throws StorageException;
+
+    int purgeGlobal(long before, int limit) throws StorageException;
+
+    long countPairs() throws StorageException;
+
+    /**
+     * Visit every stored (killer, victim) pair, e.g. to build the known-pair Bloom filter
+     */
+    void forEachPair(PairVisitor visitor) throws StorageException;
+
+    /**
+     * Receives the rows of {@link #loadKiller}; victimUUID is null for the global row
+     */
+    @FunctionalInterface
+    interface KillerVisitor {
+        void accept(UUID victimUUID, long time);
+    }
+
+    @FunctionalInterface
+    interface PairVisitor {
+        void accept(UUID killerUUID, UUID victimUUID);
+    }
+}
@@ -0,0 +1,28 @@
+package com.mskplugins.mskills.storage;
+
+/**
+ * Both cooldown timestamps that decide a kill reward; either may be {@link CooldownStore#NOT_FOUND}
+ */
+public final class CooldownTimes {
+
+    private final long perVictimTime;
+    private final long globalTime;
+
+    public CooldownTimes(long perVictimTime, long globalTime) {
+        this.perVictimTime = perVictimTime;
+        this.globalTime = globalTime;
+    }
+
+    public long getPerVictimTime() {
+        return perVictimTime;
+    }
+
+    public long getGlobalTime() {
+        return globalTime;
+    }
+
+    @Override
+    public String toString() {
+        return "CooldownTimes{perVictim=" + perVictimTime + ", global=" + globalTime + "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.mskplugins.mskills.storage;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Unpooled provider that opens a fresh driver connection per call. Only meant for short-lived
+ * scratch stores such as the ones /reward benchmark creates; writes are serialised so it is safe for SQLite.
+ */
+public class DriverConnectionProvider implements ConnectionProvider {
+
+    private final String jdbcUrl;
+    private final Executor executor;
+    private final Object writeLock = new Object();
+
+    public DriverConnectionProvider(String driverClass, String jdbcUrl, Executor executor) throws StorageException {
+        try {
+            Class.forName(driverClass);
+        } catch (ClassNotFoundException e) {
+            throw new StorageException("JDBC driver " + driverClass + " is not available", e);
+        }
+        this.jdbcUrl = jdbcUrl;
+        this.executor = executor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl);
+    }
+
+    @Override
+    public <T> T write(WriteTask<T> task) throws SQLException {
+        synchronized (writeLock) {
+            try (Connection conn = getConnection()) {
+                conn.setAutoCommit(false);
+                WriteSession session = new WriteSession(conn);
+                try {
+                    T result = task.run(session);
+                    conn.commit();
+                    return result;
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    session.release();
+                }
+            }
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> writeAsync(WriteTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(task);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mskplugins.mskills.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Embedded H2 running in MODE=MySQL. Shares the MySQL upserts, so the MySQL code path can be
+ * exercised without a server; only DDL and the chunked delete use H2's own syntax.
+ */
+public class H2CooldownStore extends MySQLCooldownStore {
+
+    public H2CooldownStore(ConnectionProvider connections, String tablePrefix, BooleanSupplier legacyPending) {
+        super(connections, tablePrefix, legacyPending);
+    }
+
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    @Override
+    protected String[] getSchemaStatements() {
+        return new String[]{
+                "CREATE TABLE IF NOT EXISTS " + getPerVictimTable() + " (" +
+                        "killer_uuid BINARY(16) NOT NULL," +
+                        "victim_uuid BINARY(16) NOT NULL," +
+                        "last_kill_time BIGINT NOT NULL," +
+                        "PRIMARY KEY (killer_uuid, victim_uuid)" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS " + getGlobalTable() + " (" +
+                        "player_uuid BINARY(16) PRIMARY KEY," +
+                        "last_global_kill_time BIGINT NOT NULL" +
+                        ")"
+        };
+    }
+
+    @Override
+    protected String getPurgeQuery(String table, String timeColumn, String keyColumns) {
+        return "DELETE FROM " + table + " WHERE " + timeColumn + " < ? FETCH FIRST ? ROWS ONLY";
+    }
+
+    @Override
+    protected void createIndex(Connection conn, String table, String column) throws SQLException {
+        createIndexIfNotExists(conn, table, column);
+    }
+}
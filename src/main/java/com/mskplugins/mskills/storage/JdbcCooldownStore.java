@@ -0,0 +1,516 @@
+package com.mskplugins.mskills.storage;
+
+import com.mskplugins.mskills.util.UuidCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * SQL implementation of {@link CooldownStore}. Queries are shared; subclasses only supply the
+ * dialect specific parts (DDL, upsert, chunked delete, index creation).
+ *
+ * v2 tables store UUIDs as 16 raw bytes and timestamps as epoch seconds. While the v1 -> v2 migration
+ * is still running, lookups that miss v2 fall back to the v1 (text UUID, millisecond) tables.
+ */
+public abstract class JdbcCooldownStore implements CooldownStore {
+
+    // Keeps batch lookups well below every driver's bind parameter limit
+    private static final int LOOKUP_CHUNK = 100;
+
+    protected final ConnectionProvider connections;
+    protected final String tablePrefix;
+    private final BooleanSupplier legacyPending;
+
+    protected JdbcCooldownStore(ConnectionProvider connections, String tablePrefix, BooleanSupplier legacyPending) {
+        this.connections = connections;
+        this.tablePrefix = tablePrefix;
+        this.legacyPending = legacyPending;
+    }
+
+    /**
+     * CREATE TABLE statements for the v2 tables
+     */
+    protected abstract String[] getSchemaStatements();
+
+    /**
+     * (killer_uuid, victim_uuid, last_kill_time) upsert that keeps the newer time
+     */
+    protected abstract String getPerVictimUpsert();
+
+    /**
+     * (player_uuid, last_global_kill_time) upsert that keeps the newer time
+     */
+    protected abstract String getGlobalUpsert();
+
+    /**
+     * Delete at most ? rows with timeColumn < ?; parameters are (cutoff, limit)
+     */
+    protected abstract String getPurgeQuery(String table, String timeColumn, String keyColumns);
+
+    /**
+     * Create a single-column index if it does not exist yet
+     */
+    protected void createIndex(Connection conn, String table, String column) throws SQLException {
+        createIndexIfNotExists(conn, table, column);
+    }
+
+    protected final void createIndexIfNotExists(Connection conn, String table, String column) throws SQLException {
+        String indexName = table + "_" + column + "_idx";
+        try (PreparedStatement stmt = conn.prepareStatement("CREATE INDEX IF NOT EXISTS " + indexName + " ON " + table + " (" + column + ")")) {
+            stmt.execute();
+        }
+    }
+
+    @Override
+    public void initialize() throws StorageException {
+        try (Connection conn = connections.getConnection()) {
+            for (String ddl : getSchemaStatements()) {
+                try (PreparedStatement stmt = conn.prepareStatement(ddl)) {
+                    stmt.execute();
+                }
+            }
+
+            // Lets the purge job find expired rows without a full table scan
+            createIndex(conn, getPerVictimTable(), "last_kill_time");
+            createIndex(conn, getGlobalTable(), "last_global_kill_time");
+        } catch (SQLException e) {
+            throw new StorageException("Failed to create cooldown tables", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Connections belong to the provider
+    }
+
+    @Override
+    public long getPerVictim(UUID killerUUID, UUID victimUUID) throws StorageException {
+        String query = "SELECT last_kill_time FROM " + getPerVictimTable() + " WHERE killer_uuid = ? AND victim_uuid = ?";
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setBytes(1, UuidCodec.toBytes(killerUUID));
+            stmt.setBytes(2, UuidCodec.toBytes(victimUUID));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return fromEpochSeconds(rs.getLong(1));
+                }
+            }
+            return getLegacyPerVictim(conn, killerUUID, victimUUID);
+        } catch (SQLException e) {
+            throw new StorageException("Failed to read per-victim cooldown " + killerUUID + "->" + victimUUID, e);
+        }
+    }
+
+    @Override
+    public long getGlobal(UUID playerUUID) throws StorageException {
+        String query = "SELECT last_global_kill_time FROM " + getGlobalTable() + " WHERE player_uuid = ?";
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setBytes(1, UuidCodec.toBytes(playerUUID));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return fromEpochSeconds(rs.getLong(1));
+                }
+            }
+            return getLegacyGlobal(conn, playerUUID);
+        } catch (SQLException e) {
+            throw new StorageException("Failed to read global cooldown " + playerUUID, e);
+        }
+    }
+
+    /**
+     * Two scalar subqueries in one SELECT: one statement, one connection, one round trip
+     */
+    @Override
+    public CooldownTimes getBoth(UUID killerUUID, UUID victimUUID) throws StorageException {
+        String query = "SELECT (SELECT last_kill_time FROM " + getPerVictimTable() + " WHERE killer_uuid = ? AND victim_uuid = ?)," +
+                " (SELECT last_global_kill_time FROM " + getGlobalTable() + " WHERE player_uuid = ?)";
+        byte[] killerBytes = UuidCodec.toBytes(killerUUID);
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setBytes(1, killerBytes);
+            stmt.setBytes(2, UuidCodec.toBytes(victimUUID));
+            stmt.setBytes(3, killerBytes);
+
+            long perVictimTime = NOT_FOUND;
+            long globalTime = NOT_FOUND;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    long value = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        perVictimTime = fromEpochSeconds(value);
+                    }
+                    value = rs.getLong(2);
+                    if (!rs.wasNull()) {
+                        globalTime = fromEpochSeconds(value);
+                    }
+                }
+            }
+
+            if (perVictimTime == NOT_FOUND) {
+                perVictimTime = getLegacyPerVictim(conn, killerUUID, victimUUID);
+            }
+            if (globalTime == NOT_FOUND) {
+                globalTime = getLegacyGlobal(conn, killerUUID);
+            }
+            return new CooldownTimes(perVictimTime, globalTime);
+        } catch (SQLException e) {
+            throw new StorageException("Failed to read cooldowns " + killerUUID + "->" + victimUUID, e);
+        }
+    }
+
+    @Override
+    public Map<CooldownKey, Long> getPerVictim(Collection<CooldownKey> keys) throws StorageException {
+        Map<CooldownKey, Long> result = new HashMap<>();
+        List<CooldownKey> pending = new ArrayList<>(keys);
+
+        try (Connection conn = connections.getConnection()) {
+            for (int from = 0; from < pending.size(); from += LOOKUP_CHUNK) {
+                List<CooldownKey> chunk = pending.subList(from, Math.min(pending.size(), from + LOOKUP_CHUNK));
+
+                StringBuilder query = new StringBuilder("SELECT killer_uuid, victim_uuid, last_kill_time FROM ")
+                        .append(getPerVictimTable()).append(" WHERE ");
+                for (int i = 0; i < chunk.size(); i++) {
+                    query.append(i == 0 ? "" : " OR ").append("(killer_uuid = ? AND victim_uuid = ?)");
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+                    int index = 1;
+                    for (CooldownKey key : chunk) {
+                        stmt.setBytes(index++, UuidCodec.toBytes(key.getKillerUUID()));
+                        stmt.setBytes(index++, UuidCodec.toBytes(key.getVictimUUID()));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            result.put(new CooldownKey(UuidCodec.fromBytes(rs.getBytes(1)), UuidCodec.fromBytes(rs.getBytes(2))),
+                                    fromEpochSeconds(rs.getLong(3)));
+                        }
+                    }
+                }
+            }
+
+            if (legacyPending.getAsBoolean()) {
+                for (CooldownKey key : pending) {
+                    if (!result.containsKey(key)) {
+                        long time = getLegacyPerVictim(conn, key.getKillerUUID(), key.getVictimUUID());
+                        if (time != NOT_FOUND) {
+                            result.put(key, time);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Failed to read per-victim cooldown batch", e);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UUID, Long> getGlobal(Collection<UUID> playerUUIDs) throws StorageException {
+        Map<UUID, Long> result = new HashMap<>();
+        List<UUID> pending = new ArrayList<>(playerUUIDs);
+
+        try (Connection conn = connections.getConnection()) {
+            for (int from = 0; from < pending.size(); from += LOOKUP_CHUNK) {
+                List<UUID> chunk = pending.subList(from, Math.min(pending.size(), from + LOOKUP_CHUNK));
+
+                StringBuilder query = new StringBuilder("SELECT player_uuid, last_global_kill_time FROM ")
+                        .append(getGlobalTable()).append(" WHERE player_uuid IN (");
+                for (int i = 0; i < chunk.size(); i++) {
+                    query.append(i == 0 ? "?" : ", ?");
+                }
+                query.append(')');
+
+                try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setBytes(i + 1, UuidCodec.toBytes(chunk.get(i)));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            result.put(UuidCodec.fromBytes(rs.getBytes(1)), fromEpochSeconds(rs.getLong(2)));
+                        }
+                    }
+                }
+            }
+
+            if (legacyPending.getAsBoolean()) {
+                for (UUID playerUUID : pending) {
+                    if (!result.containsKey(playerUUID)) {
+                        long time = getLegacyGlobal(conn, playerUUID);
+                        if (time != NOT_FOUND) {
+                            result.put(playerUUID, time);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Failed to read global cooldown batch", e);
+        }
+        return result;
+    }
+
+    @Override
+    public void loadKiller(UUID killerUUID, long perVictimSince, long globalSince, KillerVisitor visitor) throws StorageException {
+        // One round trip for both tables; a NULL victim marks the global row
+        String query = "SELECT victim_uuid, last_kill_time FROM " + getPerVictimTable() +
+                " WHERE killer_uuid = ? AND last_kill_time > ?" +
+                " UNION ALL SELECT NULL, last_global_kill_time FROM " + getGlobalTable() +
+                " WHERE player_uuid = ? AND last_global_kill_time > ?";
+        byte[] killerBytes = UuidCodec.toBytes(killerUUID);
+
+        try (Connection conn = connections.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setBytes(1, killerBytes);
+            stmt.setLong(2, Math.floorDiv(perVictimSince, 1000L));
+            stmt.setBytes(3, killerBytes);
+            stmt.setLong(4, Math.floorDiv(globalSince, 1000L));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    byte[] victimBytes = rs.getBytes(1);
+                    visitor.accept(victimBytes == null ? null : UuidCodec.fromBytes(victimBytes), fromEpochSeconds(rs.getLong(2)));
+                }
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StorageException("Failed to load cooldowns of " + killerUUID, e);
+        }
+    }
+
+    @Override
+    public void put(UUID killerUUID, UUID victimUUID, long time) throws StorageException {
+        try {
+            connections.write(session -> writeKill(session, killerUUID, victimUUID, time));
+        } catch (SQLException e) {
+            throw new StorageException("Failed to write cooldowns " + killerUUID + "->" + victimUUID, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(UUID killerUUID, UUID victimUUID, long time, Executor executor) {
+        // The provider decides where the write runs (e.g. the single SQLite writer thread)
+        return connections.writeAsync(session -> writeKill(session, killerUUID, victimUUID, time))
+                .exceptionally(e -> {
+                    throw new CompletionException(new StorageException("Failed to write cooldowns " + killerUUID + "->" + victimUUID,
+                            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+                });
+    }
+
+    private Void writeKill(WriteSession session, UUID killerUUID, UUID victimUUID, long time) throws SQLException {
+        long seconds = toEpochSeconds(time);
+
+        PreparedStatement perVictimStmt = session.prepare(getPerVictimUpsert());
+        perVictimStmt.setBytes(1, UuidCodec.toBytes(killerUUID));
+        perVictimStmt.setBytes(2, UuidCodec.toBytes(victimUUID));
+        perVictimStmt.setLong(3, seconds);
+        perVictimStmt.executeUpdate();
+
+        PreparedStatement globalStmt = session.prepare(getGlobalUpsert());
+        globalStmt.setBytes(1, UuidCodec.toBytes(killerUUID));
+        globalStmt.setLong(2, seconds);
+        globalStmt.executeUpdate();
+        return null;
+    }
+
+    @Override
+    public void putBatch(Map<CooldownKey, Long> perVictim, Map<UUID, Long> global) throws StorageException {
+        if (perVictim.isEmpty() && global.isEmpty()) {
+            return;
+        }
+
+        try {
+            connections.write(session -> {
+                if (!perVictim.isEmpty()) {
+                    PreparedStatement stmt = session.prepare(getPerVictimUpsert());
+                    for (Map.Entry<CooldownKey, Long> entry : perVictim.entrySet()) {
+                        stmt.setBytes(1, UuidCodec.toBytes(entry.getKey().getKillerUUID()));
+                        stmt.setBytes(2, UuidCodec.toBytes(entry.getKey().getVictimUUID()));
+                        stmt.setLong(3, toEpochSeconds(entry.getValue()));
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                if (!global.isEmpty()) {
+                    PreparedStatement stmt = session.prepare(getGlobalUpsert());
+                    for (Map.Entry<UUID, Long> entry : global.entrySet()) {
+                        stmt.setBytes(1, UuidCodec.toBytes(entry.getKey()));
+                        stmt.setLong(2, toEpochSeconds(entry.getValue()));
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new StorageException("Failed to write cooldown batch", e);
+        }
+    }
+
+    @Override
+    public int purgePerVictim(long before, int limit) throws StorageException {
+        return purge(getPerVictimTable(), "last_kill_time", "killer_uuid, victim_uuid", before, limit);
+    }
+
+    @Override
+    public int purgeGlobal(long before, int limit) throws StorageException {
+        return purge(getGlobalTable(), "last_global_kill_time", "player_uuid", before, limit);
+    }
+
+    private int purge(String table, String timeColumn, String keyColumns, long before, int limit) throws StorageException {
+        // A row of s seconds stands for s * 1000 ms, so "older than before" means s < ceil(before / 1000)
+        long cutoff = toEpochSeconds(before);
+        String query = getPurgeQuery(table, timeColumn, keyColumns);
+
+        try {
+            return connections.write(session -> {
+                PreparedStatement stmt = session.prepare(query);
+                stmt.setLong(1, cutoff);
+                stmt.setInt(2, limit);
+                return stmt.executeUpdate();
+            });
+        } catch (SQLException e) {
+            throw new StorageException("Failed to purge " + table, e);
+        }
+    }
+
+    @Override
+    public long countPairs() throws StorageException {
+        try (Connection conn = connections.getConnection()) {
+            long rows = countRows(conn, getPerVictimTable());
+            if (legacyPending.getAsBoolean()) {
+                rows += countRows(conn, getLegacyPerVictimTable());
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw new StorageException("Failed to count cooldown pairs", e);
+        }
+    }
+
+    private long countRows(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM " + table);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    @Override
+    public void forEachPair(PairVisitor visitor) throws StorageException {
+        try (Connection conn = connections.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT killer_uuid, victim_uuid FROM " + getPerVictimTable())) {
+                stmt.setFetchSize(1000);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        visitor.accept(UuidCodec.fromBytes(rs.getBytes(1)), UuidCodec.fromBytes(rs.getBytes(2)));
+                    }
+                }
+            }
+
+            if (legacyPending.getAsBoolean()) {
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT killer_uuid, victim_uuid FROM " + getLegacyPerVictimTable())) {
+                    stmt.setFetchSize(1000);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            try {
+                                visitor.accept(UUID.fromString(rs.getString(1)), UUID.fromString(rs.getString(2)));
+                            } catch (IllegalArgumentException ignored) {
+                                // Malformed v1 rows are skipped by the migration too
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StorageException("Failed to scan cooldown pairs", e);
+        }
+    }
+
+    /**
+     * Drop the v2 tables; used to clean up scratch stores after a benchmark
+     */
+    public void dropTables() throws StorageException {
+        try (Connection conn = connections.getConnection()) {
+            for (String table : new String[]{getPerVictimTable(), getGlobalTable()}) {
+                try (PreparedStatement stmt = conn.prepareStatement("DROP TABLE IF EXISTS " + table)) {
+                    stmt.execute();
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Failed to drop cooldown tables", e);
+        }
+    }
+
+    /**
+     * While the v1 -> v2 migration is running, rows that have not been copied yet are read from v1
+     */
+    private long getLegacyPerVictim(Connection conn, UUID killerUUID, UUID victimUUID) throws SQLException {
+        if (!legacyPending.getAsBoolean()) {
+            return NOT_FOUND;
+        }
+
+        String query = "SELECT last_kill_time FROM " + getLegacyPerVictimTable() + " WHERE killer_uuid = ? AND victim_uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, killerUUID.toString());
+            stmt.setString(2, victimUUID.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : NOT_FOUND;
+            }
+        }
+    }
+
+    private long getLegacyGlobal(Connection conn, UUID playerUUID) throws SQLException {
+        if (!legacyPending.getAsBoolean()) {
+            return NOT_FOUND;
+        }
+
+        String query = "SELECT last_global_kill_time FROM " + getLegacyGlobalTable() + " WHERE player_uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, playerUUID.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : NOT_FOUND;
+            }
+        }
+    }
+
+    // Table names
+    public String getPerVictimTable() {
+        return tablePrefix + "per_victim_cooldowns_v2";
+    }
+
+    public String getGlobalTable() {
+        return tablePrefix + "global_player_cooldowns_v2";
+    }
+
+    public String getLegacyPerVictimTable() {
+        return tablePrefix + "per_victim_cooldowns";
+    }
+
+    public String getLegacyGlobalTable() {
+        return tablePrefix + "global_player_cooldowns";
+    }
+
+    /**
+     * Millisecond timestamp to stored epoch seconds, rounded up so a cooldown never ends early
+     */
+    public static long toEpochSeconds(long millis) {
+        return Math.floorDiv(millis + 999L, 1000L);
+    }
+
+    public static long fromEpochSeconds(long seconds) {
+        return seconds * 1000L;
+    }
+}
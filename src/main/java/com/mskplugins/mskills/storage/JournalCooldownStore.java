@@ -0,0 +1,561 @@
+package com.mskplugins.mskills.storage;
+
+import com.mskplugins.mskills.KillRewardPlugin;
+import com.mskplugins.mskills.cache.CooldownTable;
+import com.mskplugins.mskills.manager.ConfigManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * storage.type: journal - cooldowns kept entirely in memory and persisted as fixed-size binary records
+ * appended to a memory-mapped file in the plugin folder. No JDBC is involved on the kill path.
+ *
+ * File layout: a 32 byte header (magic, format, generation, sealed flag) followed by 48 byte records
+ * (type, four UUID halves, epoch seconds, CRC32). A zero type marks the end of the data. On startup the
+ * newest sealed file is replayed into the index; a torn record at the tail is detected by its checksum.
+ *
+ * Compaction writes the live (non-expired) entries to a new generation file, seals it and switches over,
+ * so a crash at any point leaves either the old or the new file complete.
+ */
+public class JournalCooldownStore implements CooldownStore {
+
+    private static final int MAGIC = 0x4D534B4A; // "MSKJ"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 48;
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - 4;
+    private static final int TYPE_PER_VICTIM = 0x7E000001;
+    private static final int TYPE_GLOBAL = 0x7E000002;
+    private static final long INITIAL_CAPACITY = 1L << 20;
+    private static final String FILE_PREFIX = "cooldowns.";
+    private static final String FILE_SUFFIX = ".journal";
+
+    private final KillRewardPlugin plugin;
+    private final ConfigManager configManager;
+    private final Path directory;
+
+    // The full cooldown state; the file only exists to rebuild it
+    private final CooldownTable perVictimIndex = new CooldownTable();
+    private final CooldownTable globalIndex = new CooldownTable();
+
+    // Guards the current file and the record scratch buffer
+    private final Object writeLock = new Object();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+
+    private volatile JournalFile current;
+    private volatile boolean dirty;
+    private ScheduledExecutorService scheduler;
+
+    public JournalCooldownStore(KillRewardPlugin plugin, Path directory) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.directory = directory;
+
+        perVictimIndex.setExpiryPolicy((time, now) -> time + configManager.getCooldown() * 1000L <= now);
+        globalIndex.setExpiryPolicy((time, now) -> time + configManager.getGlobalCooldown() * 1000L <= now);
+    }
+
+    @Override
+    public String getName() {
+        return "journal";
+    }
+
+    @Override
+    public boolean isMemoryResident() {
+        return true;
+    }
+
+    @Override
+    public void initialize() throws StorageException {
+        try {
+            open();
+        } catch (IOException e) {
+            throw new StorageException("Failed to open cooldown journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Open the newest sealed journal, replay it and start the sync and compaction tasks
+     */
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        long startTime = System.currentTimeMillis();
+
+        List<Path> files = listJournalFiles();
+        Path chosen = null;
+        for (Path path : files) {
+            if (isSealed(path)) {
+                chosen = path;
+                break;
+            }
+        }
+
+        // Older generations are obsolete; newer unsealed ones are the remains of an interrupted compaction
+        for (Path path : files) {
+            if (!path.equals(chosen)) {
+                deleteQuietly(path);
+            }
+        }
+
+        int records = 0;
+        if (chosen == null) {
+            current = JournalFile.create(directory.resolve(FILE_PREFIX + 1 + FILE_SUFFIX), 1L, INITIAL_CAPACITY);
+            current.seal();
+        } else {
+            current = JournalFile.open(chosen, parseGeneration(chosen));
+            records = replay(current);
+        }
+
+        plugin.getLogger().info("✓ Loaded " + records + " journal records (" + perVictimIndex.size() + " per-victim, " +
+                globalIndex.size() + " global cooldowns) in " + (System.currentTimeMillis() - startTime) + "ms");
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MSKills-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long syncInterval = configManager.getJournalSyncInterval();
+        long compactionInterval = configManager.getJournalCompactionInterval() * 60_000L;
+        scheduler.scheduleWithFixedDelay(this::syncSafely, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::compactSafely, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getPerVictim(UUID killerUUID, UUID victimUUID) {
+        return perVictimIndex.get(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits());
+    }
+
+    @Override
+    public long getGlobal(UUID playerUUID) {
+        return globalIndex.get(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), 0L, 0L);
+    }
+
+    @Override
+    public Map<CooldownKey, Long> getPerVictim(Collection<CooldownKey> keys) {
+        Map<CooldownKey, Long> result = new HashMap<>();
+        for (CooldownKey key : keys) {
+            long time = getPerVictim(key.getKillerUUID(), key.getVictimUUID());
+            if (time != NOT_FOUND) {
+                result.put(key, time);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UUID, Long> getGlobal(Collection<UUID> playerUUIDs) {
+        Map<UUID, Long> result = new HashMap<>();
+        for (UUID playerUUID : playerUUIDs) {
+            long time = getGlobal(playerUUID);
+            if (time != NOT_FOUND) {
+                result.put(playerUUID, time);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void loadKiller(UUID killerUUID, long perVictimSince, long globalSince, KillerVisitor visitor) {
+        long killerMsb = killerUUID.getMostSignificantBits();
+        long killerLsb = killerUUID.getLeastSignificantBits();
+
+        // Full scan; callers skip prefetching for memory-resident stores, so this only serves tooling
+        perVictimIndex.forEach((k1, k2, k3, k4, time) -> {
+            if (k1 == killerMsb && k2 == killerLsb && time > perVictimSince) {
+                visitor.accept(new UUID(k3, k4), time);
+            }
+        });
+        long global = getGlobal(killerUUID);
+        if (global != NOT_FOUND && global > globalSince) {
+            visitor.accept(null, global);
+        }
+    }
+
+    @Override
+    public void put(UUID killerUUID, UUID victimUUID, long time) throws StorageException {
+        try {
+            recordKill(killerUUID, victimUUID, time);
+        } catch (IOException e) {
+            throw new StorageException("Failed to append kill to cooldown journal", e);
+        }
+    }
+
+    @Override
+    public void putBatch(Map<CooldownKey, Long> perVictim, Map<UUID, Long> global) throws StorageException {
+        try {
+            synchronized (writeLock) {
+                if (current == null) {
+                    throw new IOException("Cooldown journal is not open");
+                }
+                for (Map.Entry<CooldownKey, Long> entry : perVictim.entrySet()) {
+                    UUID killerUUID = entry.getKey().getKillerUUID();
+                    UUID victimUUID = entry.getKey().getVictimUUID();
+                    append(current, TYPE_PER_VICTIM, killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                            victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), JdbcCooldownStore.toEpochSeconds(entry.getValue()));
+                    perVictimIndex.putMax(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                            victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), entry.getValue());
+                }
+                for (Map.Entry<UUID, Long> entry : global.entrySet()) {
+                    UUID playerUUID = entry.getKey();
+                    append(current, TYPE_GLOBAL, playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(),
+                            0L, 0L, JdbcCooldownStore.toEpochSeconds(entry.getValue()));
+                    globalIndex.putMax(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), 0L, 0L, entry.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to append batch to cooldown journal", e);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Drops entries from the index only; their records disappear from the file at the next compaction
+     */
+    @Override
+    public int purgePerVictim(long before, int limit) {
+        return purge(perVictimIndex, before, limit);
+    }
+
+    @Override
+    public int purgeGlobal(long before, int limit) {
+        return purge(globalIndex, before, limit);
+    }
+
+    private int purge(CooldownTable index, long before, int limit) {
+        AtomicInteger remaining = new AtomicInteger(limit);
+        return index.removeIf((k1, k2, k3, k4, time) -> time < before && remaining.getAndDecrement() > 0);
+    }
+
+    @Override
+    public long countPairs() {
+        return perVictimIndex.size();
+    }
+
+    @Override
+    public void forEachPair(PairVisitor visitor) {
+        perVictimIndex.forEach((k1, k2, k3, k4, time) -> visitor.accept(new UUID(k1, k2), new UUID(k3, k4)));
+    }
+
+    /**
+     * Append the per-victim and global records for a kill and update the index
+     */
+    private void recordKill(UUID killerUUID, UUID victimUUID, long time) throws IOException {
+        long killerMsb = killerUUID.getMostSignificantBits();
+        long killerLsb = killerUUID.getLeastSignificantBits();
+        long victimMsb = victimUUID.getMostSignificantBits();
+        long victimLsb = victimUUID.getLeastSignificantBits();
+        long seconds = JdbcCooldownStore.toEpochSeconds(time);
+
+        synchronized (writeLock) {
+            if (current == null) {
+                throw new IOException("Cooldown journal is not open");
+            }
+            append(current, TYPE_PER_VICTIM, killerMsb, killerLsb, victimMsb, victimLsb, seconds);
+            append(current, TYPE_GLOBAL, killerMsb, killerLsb, 0L, 0L, seconds);
+            perVictimIndex.putMax(killerMsb, killerLsb, victimMsb, victimLsb, time);
+            globalIndex.putMax(killerMsb, killerLsb, 0L, 0L, time);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Rewrite the live entries into a new generation file and drop the old one
+     */
+    public void compact() throws IOException {
+        long startTime = System.currentTimeMillis();
+        int expired;
+        int live;
+        long reclaimed;
+
+        synchronized (writeLock) {
+            expired = perVictimIndex.cleanUp() + globalIndex.cleanUp();
+            live = perVictimIndex.size() + globalIndex.size();
+
+            JournalFile old = current;
+            long generation = old.generation + 1;
+            JournalFile next = JournalFile.create(directory.resolve(FILE_PREFIX + generation + FILE_SUFFIX), generation,
+                    capacityFor(live * 2L));
+
+            IOException[] failure = new IOException[1];
+            perVictimIndex.forEach((k1, k2, k3, k4, time) -> appendSnapshot(next, TYPE_PER_VICTIM, k1, k2, k3, k4, time, failure));
+            globalIndex.forEach((k1, k2, k3, k4, time) -> appendSnapshot(next, TYPE_GLOBAL, k1, k2, k3, k4, time, failure));
+            if (failure[0] != null) {
+                next.close();
+                deleteQuietly(next.path);
+                throw failure[0];
+            }
+
+            next.force();
+            next.seal();
+
+            current = next;
+            reclaimed = old.position - next.position;
+            old.close();
+            deleteQuietly(old.path);
+        }
+        dirty = false;
+
+        if (expired > 0 || configManager.isDebug()) {
+            plugin.getLogger().info("💾 Compacted cooldown journal: " + live + " live entries, " + expired +
+                    " expired dropped, " + Math.max(0L, reclaimed) + " bytes reclaimed in " + (System.currentTimeMillis() - startTime) + "ms");
+        }
+    }
+
+    /**
+     * Stop background tasks and flush the mapped file to disk
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (writeLock) {
+            JournalFile file = current;
+            if (file != null) {
+                file.force();
+                file.close();
+            }
+        }
+        plugin.getLogger().info("✓ Cooldown journal closed");
+    }
+
+    public int getEntryCount() {
+        return perVictimIndex.size() + globalIndex.size();
+    }
+
+    public long getUsedBytes() {
+        JournalFile file = current;
+        return file == null ? 0L : file.position;
+    }
+
+    private void syncSafely() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        // force() only msyncs the mapping, so it can run next to appends without the lock
+        current.force();
+    }
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "❌ Error compacting cooldown journal", e);
+        }
+    }
+
+    private void appendSnapshot(JournalFile file, int type, long k1, long k2, long k3, long k4, long time, IOException[] failure) {
+        if (failure[0] != null) {
+            return;
+        }
+        try {
+            append(file, type, k1, k2, k3, k4, JdbcCooldownStore.toEpochSeconds(time));
+        } catch (IOException e) {
+            failure[0] = e;
+        }
+    }
+
+    /**
+     * Encode one record into the scratch buffer and append it; caller holds the write lock
+     */
+    private void append(JournalFile file, int type, long k1, long k2, long k3, long k4, long seconds) throws IOException {
+        record.clear();
+        record.putInt(type).putLong(k1).putLong(k2).putLong(k3).putLong(k4).putLong(seconds);
+        crc.reset();
+        crc.update(record.array(), 0, CHECKSUM_OFFSET);
+        record.putInt((int) crc.getValue());
+        file.append(record.array());
+    }
+
+    /**
+     * Load every valid record into the index. Stops at the end marker or the first damaged record,
+     * and clears whatever follows so it can never be mistaken for data later.
+     */
+    private int replay(JournalFile file) {
+        MappedByteBuffer buffer = file.buffer;
+        byte[] bytes = new byte[RECORD_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(bytes);
+        int position = HEADER_SIZE;
+        int records = 0;
+
+        while (position + RECORD_SIZE <= buffer.capacity()) {
+            int type = buffer.getInt(position);
+            if (type == 0) {
+                break;
+            }
+
+            buffer.get(position, bytes);
+            crc.reset();
+            crc.update(bytes, 0, CHECKSUM_OFFSET);
+            if ((type != TYPE_PER_VICTIM && type != TYPE_GLOBAL) || view.getInt(CHECKSUM_OFFSET) != (int) crc.getValue()) {
+                plugin.getLogger().warning("❌ Cooldown journal has a damaged record at byte " + position + ", ignoring the rest of the file");
+                break;
+            }
+
+            long time = JdbcCooldownStore.fromEpochSeconds(view.getLong(36));
+            CooldownTable index = type == TYPE_PER_VICTIM ? perVictimIndex : globalIndex;
+            index.putMax(view.getLong(4), view.getLong(12), view.getLong(20), view.getLong(28), time);
+            position += RECORD_SIZE;
+            records++;
+        }
+
+        for (int i = position; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        file.position = position;
+        return records;
+    }
+
+    private List<Path> listJournalFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path path : stream) {
+                if (parseGeneration(path) > 0) {
+                    files.add(path);
+                }
+            }
+        }
+        // Newest generation first
+        files.sort((a, b) -> Long.compare(parseGeneration(b), parseGeneration(a)));
+        return files;
+    }
+
+    private static long parseGeneration(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1L;
+        }
+    }
+
+    private static boolean isSealed(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            return !header.hasRemaining() && header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION && header.getInt(16) == 1;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Still mapped on some platforms; it is removed on the next startup instead
+            if (configManager.isDebug()) {
+                plugin.getLogger().info("💾 Could not delete old journal " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static long capacityFor(long records) {
+        long needed = HEADER_SIZE + records * RECORD_SIZE;
+        long capacity = INITIAL_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * One mapped journal file; all methods except force() are called under the journal write lock
+     */
+    private static final class JournalFile {
+        final Path path;
+        final long generation;
+        final FileChannel channel;
+        volatile MappedByteBuffer buffer;
+        int position;
+
+        private JournalFile(Path path, long generation, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.generation = generation;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static JournalFile open(Path path, long generation) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long capacity = Math.max(INITIAL_CAPACITY, channel.size());
+            return new JournalFile(path, generation, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+
+        /**
+         * A new file with an unsealed header; it only counts once {@link #seal()} has run
+         */
+        static JournalFile create(Path path, long generation, long capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(8, generation);
+            buffer.putInt(16, 0);
+
+            JournalFile file = new JournalFile(path, generation, channel, buffer);
+            file.position = HEADER_SIZE;
+            return file;
+        }
+
+        void append(byte[] bytes) throws IOException {
+            if (position + bytes.length > buffer.capacity()) {
+                long capacity = (long) buffer.capacity() << 1;
+                if (capacity > Integer.MAX_VALUE) {
+                    throw new IOException("Cooldown journal is full, compaction needed");
+                }
+                buffer.force();
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+            buffer.put(position, bytes);
+            position += bytes.length;
+        }
+
+        void seal() {
+            buffer.putInt(16, 1);
+            buffer.force();
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // The mapping stays valid until it is garbage collected
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.mskplugins.mskills.storage;
+
+import com.mskplugins.mskills.cache.CooldownTable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * storage.type: memory - cooldowns live only in two unbounded tables and are lost on restart.
+ * Meant for test servers, minigames that reset every round, and as the reference for benchmarks.
+ */
+public class MemoryCooldownStore implements CooldownStore {
+
+    private final CooldownTable perVictim = new CooldownTable();
+    private final CooldownTable global = new CooldownTable();
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public void initialize() {
+        // Nothing to open
+    }
+
+    @Override
+    public void close() {
+        perVictim.clear();
+        global.clear();
+    }
+
+    @Override
+    public boolean isMemoryResident() {
+        return true;
+    }
+
+    @Override
+    public long getPerVictim(UUID killerUUID, UUID victimUUID) {
+        return perVictim.get(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits());
+    }
+
+    @Override
+    public long getGlobal(UUID playerUUID) {
+        return global.get(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), 0L, 0L);
+    }
+
+    @Override
+    public Map<CooldownKey, Long> getPerVictim(Collection<CooldownKey> keys) {
+        Map<CooldownKey, Long> result = new HashMap<>();
+        for (CooldownKey key : keys) {
+            long time = getPerVictim(key.getKillerUUID(), key.getVictimUUID());
+            if (time != NOT_FOUND) {
+                result.put(key, time);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UUID, Long> getGlobal(Collection<UUID> playerUUIDs) {
+        Map<UUID, Long> result = new HashMap<>();
+        for (UUID playerUUID : playerUUIDs) {
+            long time = getGlobal(playerUUID);
+            if (time != NOT_FOUND) {
+                result.put(playerUUID, time);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void loadKiller(UUID killerUUID, long perVictimSince, long globalSince, KillerVisitor visitor) {
+        long killerMsb = killerUUID.getMostSignificantBits();
+        long killerLsb = killerUUID.getLeastSignificantBits();
+
+        perVictim.forEach((k1, k2, k3, k4, time) -> {
+            if (k1 == killerMsb && k2 == killerLsb && time > perVictimSince) {
+                visitor.accept(new UUID(k3, k4), time);
+            }
+        });
+        long globalTime = getGlobal(killerUUID);
+        if (globalTime != NOT_FOUND && globalTime > globalSince) {
+            visitor.accept(null, globalTime);
+        }
+    }
+
+    @Override
+    public void put(UUID killerUUID, UUID victimUUID, long time) {
+        long killerMsb = killerUUID.getMostSignificantBits();
+        long killerLsb = killerUUID.getLeastSignificantBits();
+        perVictim.putMax(killerMsb, killerLsb, victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), time);
+        global.putMax(killerMsb, killerLsb, 0L, 0L, time);
+    }
+
+    @Override
+    public void putBatch(Map<CooldownKey, Long> perVictimTimes, Map<UUID, Long> globalTimes) {
+        for (Map.Entry<CooldownKey, Long> entry : perVictimTimes.entrySet()) {
+            UUID killerUUID = entry.getKey().getKillerUUID();
+            UUID victimUUID = entry.getKey().getVictimUUID();
+            perVictim.putMax(killerUUID.getMostSignificantBits(), killerUUID.getLeastSignificantBits(),
+                    victimUUID.getMostSignificantBits(), victimUUID.getLeastSignificantBits(), entry.getValue());
+        }
+        for (Map.Entry<UUID, Long> entry : globalTimes.entrySet()) {
+            global.putMax(entry.getKey().getMostSignificantBits(), entry.getKey().getLeastSignificantBits(), 0L, 0L, entry.getValue());
+        }
+    }
+
+    @Override
+    public int purgePerVictim(long before, int limit) {
+        return purge(perVictim, before, limit);
+    }
+
+    @Override
+    public int purgeGlobal(long before, int limit) {
+        return purge(global, before, limit);
+    }
+
+    private int purge(CooldownTable table, long before, int limit) {
+        AtomicInteger remaining = new AtomicInteger(limit);
+        return table.removeIf((k1, k2, k3, k4, time) -> time < before && remaining.getAndDecrement() > 0);
+    }
+
+    @Override
+    public long countPairs() {
+        return perVictim.size();
+    }
+
+    @Override
+    public void forEachPair(PairVisitor visitor) {
+        perVictim.forEach((k1, k2, k3, k4, time) -> visitor.accept(new UUID(k1, k2), new UUID(k3, k4)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.mskplugins.mskills.storage;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * MySQL / MariaDB dialect: BINARY(16) keys, unsigned second timestamps
+ */
+public class MySQLCooldownStore extends JdbcCooldownStore {
+
+    public MySQLCooldownStore(ConnectionProvider connections, String tablePrefix, BooleanSupplier legacyPending) {
+        super(connections, tablePrefix, legacyPending);
+    }
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    @Override
+    protected String[] getSchemaStatements() {
+        return new String[]{
+                "CREATE TABLE IF NOT EXISTS " + getPerVictimTable() + " (" +
+                        "killer_uuid BINARY(16) NOT NULL," +
+                        "victim_uuid BINARY(16) NOT NULL," +
+                        "last_kill_time INT UNSIGNED NOT NULL," +
+                        "PRIMARY KEY (killer_uuid, victim_uuid)" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS " + getGlobalTable() + " (" +
+                        "player_uuid BINARY(16) PRIMARY KEY," +
+                        "last_global_kill_time INT UNSIGNED NOT NULL" +
+                        ")"
+        };
+    }
+
+    @Override
+    protected String getPerVictimUpsert() {
+        return "INSERT INTO " + getPerVictimTable() + " (killer_uuid, victim_uuid, last_kill_time) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE last_kill_time = GREATEST(last_kill_time, VALUES(last_kill_time))";
+    }
+
+    @Override
+    protected String getGlobalUpsert() {
+        return "INSERT INTO " + getGlobalTable() + " (player_uuid, last_global_kill_time) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE last_global_kill_time = GREATEST(last_global_kill_time, VALUES(last_global_kill_time))";
+    }
+
+    @Override
+    protected String getPurgeQuery(String table, String timeColumn, String keyColumns) {
+        return "DELETE FROM " + table + " WHERE " + timeColumn + " < ? LIMIT ?";
+    }
+
+    /**
+     * MySQL has no CREATE INDEX IF NOT EXISTS, so check the metadata first
+     */
+    @Override
+    protected void createIndex(Connection conn, String table, String column) throws SQLException {
+        String indexName = table + "_" + column + "_idx";
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(conn.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("CREATE INDEX " + indexName + " ON " + table + " (" + column + ")")) {
+            stmt.execute();
+        }
+    }
+}
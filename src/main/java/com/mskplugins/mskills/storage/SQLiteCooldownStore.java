@@ -0,0 +1,54 @@
+package com.mskplugins.mskills.storage;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * SQLite dialect: BLOB keys in WITHOUT ROWID tables
+ */
+public class SQLiteCooldownStore extends JdbcCooldownStore {
+
+    public SQLiteCooldownStore(ConnectionProvider connections, String tablePrefix, BooleanSupplier legacyPending) {
+        super(connections, tablePrefix, legacyPending);
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    protected String[] getSchemaStatements() {
+        return new String[]{
+                "CREATE TABLE IF NOT EXISTS " + getPerVictimTable() + " (" +
+                        "killer_uuid BLOB NOT NULL," +
+                        "victim_uuid BLOB NOT NULL," +
+                        "last_kill_time INTEGER NOT NULL," +
+                        "PRIMARY KEY (killer_uuid, victim_uuid)" +
+                        ") WITHOUT ROWID",
+                "CREATE TABLE IF NOT EXISTS " + getGlobalTable() + " (" +
+                        "player_uuid BLOB PRIMARY KEY," +
+                        "last_global_kill_time INTEGER NOT NULL" +
+                        ") WITHOUT ROWID"
+        };
+    }
+
+    @Override
+    protected String getPerVictimUpsert() {
+        return "INSERT INTO " + getPerVictimTable() + " (killer_uuid, victim_uuid, last_kill_time) VALUES (?, ?, ?) " +
+                "ON CONFLICT (killer_uuid, victim_uuid) DO UPDATE SET last_kill_time = MAX(last_kill_time, excluded.last_kill_time)";
+    }
+
+    @Override
+    protected String getGlobalUpsert() {
+        return "INSERT INTO " + getGlobalTable() + " (player_uuid, last_global_kill_time) VALUES (?, ?) " +
+                "ON CONFLICT (player_uuid) DO UPDATE SET last_global_kill_time = MAX(last_global_kill_time, excluded.last_global_kill_time)";
+    }
+
+    @Override
+    protected String getPurgeQuery(String table, String timeColumn, String keyColumns) {
+        // DELETE ... LIMIT needs a custom SQLite build and the tables have no rowid, so match on the key
+        String keyExpression = keyColumns.contains(",") ? "(" + keyColumns + ")" : keyColumns;
+        return "DELETE FROM " + table + " WHERE " + keyExpression + " IN (SELECT " + keyColumns + " FROM " + table +
+                " WHERE " + timeColumn + " < ? LIMIT ?)";
+    }
+}
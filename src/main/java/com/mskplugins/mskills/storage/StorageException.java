@@ -0,0 +1,15 @@
+package com.mskplugins.mskills.storage;
+
+/**
+ * Failure inside a {@link CooldownStore}, wrapping the backend specific cause (SQL, I/O, ...)
+ */
+public class StorageException extends Exception {
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
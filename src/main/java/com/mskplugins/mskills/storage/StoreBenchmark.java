@@ -0,0 +1,222 @@
+package com.mskplugins.mskills.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared conformance checks and a micro-benchmark that every {@link CooldownStore} backend runs
+ * through, so backends can be compared like for like. Both expect a fresh, empty store.
+ */
+public final class StoreBenchmark {
+
+    private static final int KILLER_POOL = 64;
+    private static final int BATCH_SIZE = 100;
+
+    private StoreBenchmark() {
+    }
+
+    /**
+     * Check the {@link CooldownStore} contract; returns the failed expectations, empty if the store conforms
+     */
+    public static List<String> runConformance(CooldownStore store) {
+        List<String> failures = new ArrayList<>();
+        // Whole seconds, so backends that store seconds must return the exact value
+        long now = System.currentTimeMillis() / 1000L * 1000L;
+        UUID killer = UUID.randomUUID();
+        UUID victim = UUID.randomUUID();
+        UUID otherVictim = UUID.randomUUID();
+
+        try {
+            expect(failures, "missing per-victim is NOT_FOUND", store.getPerVictim(killer, victim) == CooldownStore.NOT_FOUND);
+            expect(failures, "missing global is NOT_FOUND", store.getGlobal(killer) == CooldownStore.NOT_FOUND);
+
+            store.put(killer, victim, now - 5_000L);
+            expect(failures, "put is readable", store.getPerVictim(killer, victim) == now - 5_000L);
+            expect(failures, "put also sets the global time", store.getGlobal(killer) == now - 5_000L);
+
+            store.put(killer, victim, now);
+            store.put(killer, victim, now - 60_000L);
+            expect(failures, "newest time wins", store.getPerVictim(killer, victim) == now);
+            expect(failures, "newest global time wins", store.getGlobal(killer) == now);
+            CooldownTimes both = store.getBoth(killer, victim);
+            expect(failures, "combined lookup matches single lookups", both.getPerVictimTime() == now && both.getGlobalTime() == now);
+            CooldownTimes none = store.getBoth(UUID.randomUUID(), victim);
+            expect(failures, "combined lookup of unknown killer", none.getPerVictimTime() == CooldownStore.NOT_FOUND
+                    && none.getGlobalTime() == CooldownStore.NOT_FOUND);
+
+            // Sub-second times may be stored coarser, but never earlier
+            long fractional = now + 1_234L;
+            store.put(killer, otherVictim, fractional);
+            long stored = store.getPerVictim(killer, otherVictim);
+            expect(failures, "sub-second time rounds up", stored >= fractional && stored < fractional + 1_000L);
+
+            Map<CooldownKey, Long> perVictim = new HashMap<>();
+            Map<UUID, Long> global = new HashMap<>();
+            UUID batchKiller = UUID.randomUUID();
+            for (int i = 0; i < 3; i++) {
+                perVictim.put(new CooldownKey(batchKiller, UUID.randomUUID()), now - i * 1_000L);
+            }
+            global.put(batchKiller, now);
+            store.putBatch(perVictim, global);
+
+            List<CooldownKey> lookup = new ArrayList<>(perVictim.keySet());
+            lookup.add(new CooldownKey(batchKiller, UUID.randomUUID()));
+            Map<CooldownKey, Long> found = store.getPerVictim(lookup);
+            expect(failures, "batch get returns stored keys only", found.equals(perVictim));
+            expect(failures, "batch global get", store.getGlobal(Arrays.asList(batchKiller, UUID.randomUUID())).equals(global));
+
+            Map<UUID, Long> loaded = new HashMap<>();
+            store.loadKiller(killer, now - 30_000L, now - 30_000L, (victimUUID, time) ->
+                    loaded.put(victimUUID, time));
+            expect(failures, "loadKiller returns live victims", loaded.containsKey(victim) && loaded.containsKey(otherVictim));
+            expect(failures, "loadKiller returns the global row", loaded.containsKey(null) && loaded.get(null) >= now);
+            loaded.clear();
+            store.loadKiller(killer, now + 10_000L, now + 10_000L, (victimUUID, time) -> loaded.put(victimUUID, time));
+            expect(failures, "loadKiller skips older rows", loaded.isEmpty());
+
+            Set<CooldownKey> pairs = new HashSet<>();
+            store.forEachPair((k, v) -> pairs.add(new CooldownKey(k, v)));
+            expect(failures, "forEachPair sees every pair", pairs.contains(new CooldownKey(killer, victim)) && pairs.containsAll(perVictim.keySet()));
+            expect(failures, "countPairs", store.countPairs() == pairs.size());
+
+            UUID oldKiller = UUID.randomUUID();
+            UUID oldVictim = UUID.randomUUID();
+            store.put(oldKiller, oldVictim, now - 3_600_000L);
+            store.purgePerVictim(now - 1_800_000L, 1_000);
+            store.purgeGlobal(now - 1_800_000L, 1_000);
+            expect(failures, "purge removes old per-victim rows", store.getPerVictim(oldKiller, oldVictim) == CooldownStore.NOT_FOUND);
+            expect(failures, "purge removes old global rows", store.getGlobal(oldKiller) == CooldownStore.NOT_FOUND);
+            expect(failures, "purge keeps live rows", store.getPerVictim(killer, victim) == now);
+        } catch (StorageException | RuntimeException e) {
+            failures.add("threw " + e);
+        }
+        return failures;
+    }
+
+    /**
+     * Time single puts, single gets and batch gets over random pairs
+     */
+    public static Result runBenchmark(CooldownStore store, int operations) throws StorageException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID[] killers = new UUID[KILLER_POOL];
+        for (int i = 0; i < killers.length; i++) {
+            killers[i] = UUID.randomUUID();
+        }
+        List<CooldownKey> keys = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            keys.add(new CooldownKey(killers[random.nextInt(killers.length)], UUID.randomUUID()));
+        }
+
+        long now = System.currentTimeMillis();
+        long[] putLatencies = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            CooldownKey key = keys.get(i);
+            long start = System.nanoTime();
+            store.put(key.getKillerUUID(), key.getVictimUUID(), now);
+            putLatencies[i] = System.nanoTime() - start;
+        }
+
+        long[] getLatencies = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            CooldownKey key = keys.get(random.nextInt(operations));
+            long start = System.nanoTime();
+            store.getPerVictim(key.getKillerUUID(), key.getVictimUUID());
+            getLatencies[i] = System.nanoTime() - start;
+        }
+
+        int batches = Math.max(1, operations / BATCH_SIZE);
+        long[] batchLatencies = new long[batches];
+        List<CooldownKey> shuffled = new ArrayList<>(keys);
+        Collections.shuffle(shuffled);
+        for (int i = 0; i < batches; i++) {
+            int from = (i * BATCH_SIZE) % shuffled.size();
+            List<CooldownKey> batch = shuffled.subList(from, Math.min(shuffled.size(), from + BATCH_SIZE));
+            long start = System.nanoTime();
+            store.getPerVictim(batch);
+            batchLatencies[i] = System.nanoTime() - start;
+        }
+
+        return new Result(store.getName(), new Phase("put", putLatencies), new Phase("get", getLatencies),
+                new Phase("batch-get x" + BATCH_SIZE, batchLatencies));
+    }
+
+    private static void expect(List<String> failures, String name, boolean condition) {
+        if (!condition) {
+            failures.add(name);
+        }
+    }
+
+    /**
+     * Latency distribution of one benchmark phase
+     */
+    public static final class Phase {
+        private final String name;
+        private final double opsPerSecond;
+        private final long p50Micros;
+        private final long p99Micros;
+
+        Phase(String name, long[] latencies) {
+            long total = 0L;
+            for (long latency : latencies) {
+                total += latency;
+            }
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+
+            this.name = name;
+            this.opsPerSecond = total == 0L ? 0D : latencies.length * 1_000_000_000D / total;
+            this.p50Micros = sorted[(int) (sorted.length * 0.50)] / 1_000L;
+            this.p99Micros = sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1_000L;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + String.format("%.0f", opsPerSecond) + " ops/s, p50 " + p50Micros + "µs, p99 " + p99Micros + "µs";
+        }
+    }
+
+    /**
+     * Benchmark phases of one backend
+     */
+    public static final class Result {
+        private final String storeName;
+        private final List<Phase> phases;
+
+        Result(String storeName, Phase... phases) {
+            this.storeName = storeName;
+            this.phases = Collections.unmodifiableList(Arrays.asList(phases));
+        }
+
+        public String getStoreName() {
+            return storeName;
+        }
+
+        public List<Phase> getPhases() {
+            return phases;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mskplugins.mskills.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One write transaction handed to a {@link ConnectionProvider.WriteTask}.
+ * Statements from {@link #prepare(String)} belong to the session and must not be closed by the caller:
+ * on the SQLite writer connection they are kept and reused across transactions.
+ */
+public class WriteSession {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private final boolean reuseStatements;
+
+    public WriteSession(Connection connection, Map<String, PreparedStatement> statements, boolean reuseStatements) {
+        this.connection = connection;
+        this.statements = statements;
+        this.reuseStatements = reuseStatements;
+    }
+
+    public WriteSession(Connection connection) {
+        this(connection, new HashMap<>(), false);
+    }
+
+    /**
+     * Prepared statement for this SQL, reset and ready to bind
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt == null) {
+            stmt = connection.prepareStatement(sql);
+            statements.put(sql, stmt);
+        } else {
+            stmt.clearParameters();
+            stmt.clearBatch();
+        }
+        return stmt;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Close statements that are not meant to outlive this transaction
+     */
+    public void release() {
+        if (!reuseStatements) {
+            closeStatements(statements);
+        }
+    }
+
+    public static void closeStatements(Map<String, PreparedStatement> statements) {
+        for (PreparedStatement stmt : statements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException ignored) {
+                // Closing is best effort
+            }
+        }
+        statements.clear();
+    }
+}
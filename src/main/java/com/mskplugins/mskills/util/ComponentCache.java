@@ -0,0 +1,132 @@
+package com.mskplugins.mskills.util;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU of parsed {@link Component}s keyed on the final message text. Components are immutable,
+ * so one parse can be shared by every send of the same text. Parsing happens outside the lock; two
+ * threads missing on the same text at once both parse and the last one wins.
+ */
+public class ComponentCache {
+
+    private final Map<String, Component> entries = new LinkedHashMap<String, Component>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+            if (size() > maximumSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private volatile int maximumSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+
+    public ComponentCache(int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+    }
+
+    /**
+     * Cached component for this text, parsing and caching it on a miss
+     */
+    public Component get(String text, Function<String, Component> parser) {
+        if (maximumSize > 0) {
+            Component cached;
+            synchronized (entries) {
+                cached = entries.get(text);
+            }
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        Component parsed = parse(text, parser);
+        if (maximumSize > 0) {
+            synchronized (entries) {
+                entries.put(text, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Parse without caching, still counted in the miss and parse time stats
+     */
+    public Component parse(String text, Function<String, Component> parser) {
+        long start = System.nanoTime();
+        try {
+            return parser.apply(text);
+        } finally {
+            misses.increment();
+            parseNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Change the bound; 0 disables caching and drops every entry
+     */
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        synchronized (entries) {
+            if (this.maximumSize == 0) {
+                entries.clear();
+                return;
+            }
+            Iterator<Map.Entry<String, Component>> iterator = entries.entrySet().iterator();
+            while (entries.size() > this.maximumSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Hit rate as a percentage
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : hitCount * 100.0 / total;
+    }
+
+    /**
+     * Mean time of one parse in microseconds; 0 before the first parse
+     */
+    public double getAverageParseMicros() {
+        long parsed = misses.sum();
+        return parsed == 0L ? 0D : parseNanos.sum() / 1_000D / parsed;
+    }
+}
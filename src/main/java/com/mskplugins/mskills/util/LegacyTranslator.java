@@ -0,0 +1,104 @@
+package com.mskplugins.mskills.util;
+
+/**
+ * Single-pass, table-driven translation of legacy color codes (&amp;x, &amp;#RRGGBB) into MiniMessage tags.
+ * Produces exactly what the former chain did: hex replace, one replace per color code, and then, when
+ * cleaning, stripping §x and any &amp;x pair that the § removal left adjacent.
+ */
+public final class LegacyTranslator {
+
+    // MiniMessage tag per legacy code character; null for characters that are not codes
+    private static final String[] TAGS = new String[128];
+
+    static {
+        String codes = "0123456789abcdefklmnor";
+        String[] tags = {
+                "<black>", "<dark_blue>", "<dark_green>", "<dark_aqua>", "<dark_red>", "<dark_purple>", "<gold>",
+                "<gray>", "<dark_gray>", "<blue>", "<green>", "<aqua>", "<red>", "<light_purple>", "<yellow>",
+                "<white>", "<obfuscated>", "<bold>", "<strikethrough>", "<underline>", "<italic>", "<reset>"
+        };
+        for (int i = 0; i < tags.length; i++) {
+            TAGS[codes.charAt(i)] = tags[i];
+        }
+    }
+
+    private LegacyTranslator() {
+    }
+
+    /**
+     * Translate legacy codes to MiniMessage tags; with clean, also drop §x and stray &amp;x codes
+     */
+    public static String translate(String text, boolean clean) {
+        int length = text.length();
+        int first = firstMarker(text);
+        if (first < 0) {
+            return text;
+        }
+
+        StringBuilder out = new StringBuilder(length + 16);
+        out.append(text, 0, first);
+        // A literal '&' whose next surviving character is still to come; it and a code right after it go together
+        boolean ampOpen = false;
+        int i = first;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '&') {
+                if (isHexColor(text, i)) {
+                    out.append("<#").append(text, i + 2, i + 8).append('>');
+                    ampOpen = false;
+                    i += 8;
+                    continue;
+                }
+                String tag = i + 1 < length ? tagFor(text.charAt(i + 1)) : null;
+                if (tag != null) {
+                    out.append(tag);
+                    ampOpen = false;
+                    i += 2;
+                    continue;
+                }
+                out.append('&');
+                ampOpen = clean;
+                i++;
+            } else if (c == '§' && clean && i + 1 < length && tagFor(text.charAt(i + 1)) != null) {
+                // Dropped, so the characters around it become neighbours
+                i += 2;
+            } else if (ampOpen && tagFor(c) != null) {
+                out.setLength(out.length() - 1);
+                ampOpen = false;
+                i++;
+            } else {
+                out.append(c);
+                ampOpen = false;
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static int firstMarker(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '&' || c == '§') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String tagFor(char code) {
+        return code < TAGS.length ? TAGS[code] : null;
+    }
+
+    private static boolean isHexColor(String text, int ampersand) {
+        if (ampersand + 8 > text.length() || text.charAt(ampersand + 1) != '#') {
+            return false;
+        }
+        for (int i = ampersand + 2; i < ampersand + 8; i++) {
+            char c = text.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mskplugins.mskills.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Differential check and micro-benchmark of {@link LegacyTranslator} against the replace and regex chain
+ * it replaced, which is kept here as the reference. Both paths must agree on every input.
+ */
+public final class TextBenchmark {
+
+    private static final Pattern LEGACY_HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    private static final String[][] LEGACY_CODES = {
+            {"&0", "<black>"}, {"&1", "<dark_blue>"}, {"&2", "<dark_green>"}, {"&3", "<dark_aqua>"},
+            {"&4", "<dark_red>"}, {"&5", "<dark_purple>"}, {"&6", "<gold>"}, {"&7", "<gray>"},
+            {"&8", "<dark_gray>"}, {"&9", "<blue>"}, {"&a", "<green>"}, {"&b", "<aqua>"},
+            {"&c", "<red>"}, {"&d", "<light_purple>"}, {"&e", "<yellow>"}, {"&f", "<white>"},
+            {"&k", "<obfuscated>"}, {"&l", "<bold>"}, {"&m", "<strikethrough>"}, {"&n", "<underline>"},
+            {"&o", "<italic>"}, {"&r", "<reset>"}
+    };
+
+    // Characters that interact in the translation, plus some that must pass through untouched
+    private static final String ALPHABET = "&&&§§#aAfFkKrRz09x <>/%";
+
+    private static final List<String> SAMPLES = Arrays.asList(
+            "&#FF0000+10★ &ffor killing %victim%!",
+            "&aYou received a reward for killing &e%victim%&a!",
+            "&cYou must wait &e%time% &cbefore getting another reward!",
+            "&7Cooldown: &f5m 0s &8| &7Global: &f1m 0s",
+            "<gradient:red:gold>Kill streak!</gradient> &l&6x%streak%",
+            "plain text without any codes"
+    );
+
+    // Inputs where order of the former passes matters
+    private static final List<String> EDGE_CASES = Arrays.asList(
+            "", "&", "§", "&&a", "&#&#aBcDeF", "&#12345G", "&#abcde", "&&#abcdef&a",
+            "&§ab", "&&§acd", "§&§ab", "&§a§bc&", "§§aa", "&A&K&#ABCDEF§R"
+    );
+
+    private TextBenchmark() {
+    }
+
+    /**
+     * The former chain: toMiniMessage followed, when cleaning, by cleanForMiniMessage
+     */
+    private static String reference(String text, boolean clean) {
+        text = LEGACY_HEX_PATTERN.matcher(text).replaceAll("<#$1>");
+        for (String[] code : LEGACY_CODES) {
+            text = text.replace(code[0], code[1]);
+        }
+        if (clean) {
+            text = text.replaceAll("§[0-9a-fk-or]", "");
+            text = text.replaceAll("&[0-9a-fk-or]", "");
+        }
+        return text;
+    }
+
+    /**
+     * Compare both paths on the sample messages and random inputs; returns the mismatching inputs, empty if they agree
+     */
+    public static List<String> runDifferential(int randomInputs, long seed) {
+        List<String> failures = new ArrayList<>();
+        for (String sample : SAMPLES) {
+            compare(failures, sample);
+        }
+        for (String edgeCase : EDGE_CASES) {
+            compare(failures, edgeCase);
+        }
+
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < randomInputs && failures.size() < 10; i++) {
+            builder.setLength(0);
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            compare(failures, builder.toString());
+        }
+        return failures;
+    }
+
+    private static void compare(List<String> failures, String input) {
+        for (boolean clean : new boolean[]{false, true}) {
+            String expected = reference(input, clean);
+            String actual = LegacyTranslator.translate(input, clean);
+            if (!expected.equals(actual)) {
+                failures.add("'" + input + "'" + (clean ? " (cleaned)" : "") + ": expected '" + expected + "', got '" + actual + "'");
+            }
+        }
+    }
+
+    /**
+     * Time both paths over the sample messages; returns one line per path
+     */
+    public static List<String> runBenchmark(int iterations) {
+        // Warm up both paths so the JIT has compiled them before timing
+        time(false, Math.min(iterations, 10_000));
+        time(true, Math.min(iterations, 10_000));
+
+        long referenceNanos = time(false, iterations);
+        long translatorNanos = time(true, iterations);
+        long translations = (long) iterations * SAMPLES.size();
+
+        List<String> lines = new ArrayList<>();
+        lines.add("replace chain: " + format(referenceNanos, translations));
+        lines.add("single pass: " + format(translatorNanos, translations) +
+                String.format(" (%.1fx)", translatorNanos == 0L ? 0D : (double) referenceNanos / translatorNanos));
+        return lines;
+    }
+
+    private static long time(boolean translator, int iterations) {
+        int sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String sample : SAMPLES) {
+                sink += (translator ? LegacyTranslator.translate(sample, true) : reference(sample, true)).length();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        // Keeps the results observable so the loop cannot be eliminated
+        return sink == Integer.MIN_VALUE ? elapsed + 1 : elapsed;
+    }
+
+    private static String format(long nanos, long translations) {
+        return String.format("%.0f", nanos == 0L ? 0D : translations * 1_000_000_000D / nanos) + " ops/s, " +
+                String.format("%.2f", nanos / 1_000D / translations) + "µs each";
+    }
+}
@@ -0,0 +1,196 @@
+package com.mskplugins.mskills.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable message with named %placeholder% slots, parsed once into a component tree at compile time.
+ * Each slot is compiled as a {@link TagResolver} that inserts a marker character; rendering rebuilds only
+ * the nodes on the way to a marker and swaps the values in, so a render never runs the parser.
+ */
+public final class TextTemplate {
+
+    private static final MiniMessage miniMessage = MiniMessage.miniMessage();
+
+    // Private use characters standing in for slot i until it is filled. Resource packs map glyphs to this range
+    // too, so a source already containing one of them is rendered through the plain text path instead.
+    private static final char MARKER_BASE = '\uE000';
+
+    private final String source;
+    private final String[] names;
+    private final Component parsed;
+    private final Set<Component> slotPath;
+    private final boolean externalPlaceholders;
+
+    private TextTemplate(String source, String[] names, Component parsed, Set<Component> slotPath, boolean externalPlaceholders) {
+        this.source = source;
+        this.names = names;
+        this.parsed = parsed;
+        this.slotPath = slotPath;
+        this.externalPlaceholders = externalPlaceholders;
+    }
+
+    /**
+     * Compile a message whose %name% placeholders are filled, in this order, by {@link #render}
+     */
+    public static TextTemplate compile(String source, String... names) {
+        String text = TextUtils.translateLegacy(source);
+        TagResolver.Builder resolvers = TagResolver.builder();
+        for (int i = 0; i < names.length; i++) {
+            text = text.replace("%" + names[i] + "%", "<" + names[i] + ">");
+            resolvers.resolver(Placeholder.component(names[i], Component.text(String.valueOf((char) (MARKER_BASE + i)))));
+        }
+
+        Component parsed;
+        Set<Component> slotPath = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (firstMarker(text, names.length, 0) >= 0) {
+            // A literal marker character would be taken for a slot
+            parsed = null;
+        } else {
+            try {
+                parsed = text.isEmpty() ? Component.empty() : miniMessage.deserialize(text, resolvers.build());
+                markSlotPath(parsed, names.length, slotPath);
+            } catch (Exception e) {
+                // Rendered through the plain text path instead
+                parsed = null;
+            }
+        }
+        return new TextTemplate(source, names.clone(), parsed, slotPath, text.indexOf('%') >= 0);
+    }
+
+    private static boolean markSlotPath(Component node, int slots, Set<Component> slotPath) {
+        boolean hasSlot = node instanceof TextComponent && firstMarker(((TextComponent) node).content(), slots, 0) >= 0;
+        for (Component child : node.children()) {
+            hasSlot |= markSlotPath(child, slots, slotPath);
+        }
+        if (hasSlot) {
+            slotPath.add(node);
+        }
+        return hasSlot;
+    }
+
+    private static int firstMarker(String content, int slots, int from) {
+        for (int i = from; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c >= MARKER_BASE && c < MARKER_BASE + slots) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Render with one value per slot, without PlaceholderAPI
+     */
+    public Component render(String... values) {
+        return render((Player) null, values);
+    }
+
+    /**
+     * Render for a player, with one value per slot. Messages that still hold other %placeholders% go
+     * through PlaceholderAPI and the plain text path when it is installed.
+     */
+    public Component render(Player player, String... values) {
+        if (parsed == null || player != null && externalPlaceholders && TextUtils.hasPlaceholderAPI()) {
+            String text = fill(values);
+            return TextUtils.parseMiniMessage(player != null ? TextUtils.setPlaceholders(player, text) : text);
+        }
+        if (slotPath.isEmpty()) {
+            return parsed;
+        }
+
+        Component[] components = new Component[names.length];
+        for (int i = 0; i < components.length; i++) {
+            components[i] = i < values.length ? toComponent(values[i]) : Component.empty();
+        }
+        return fillSlots(parsed, components);
+    }
+
+    private static Component toComponent(String value) {
+        if (value == null || value.isEmpty()) {
+            return Component.empty();
+        }
+        // Values carrying color codes or tags keep them, the common plain value needs no parse at all
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '&' || c == '§' || c == '<') {
+                return TextUtils.parseMiniMessage(value);
+            }
+        }
+        return Component.text(value);
+    }
+
+    private Component fillSlots(Component node, Component[] values) {
+        if (!slotPath.contains(node)) {
+            return node;
+        }
+
+        List<Component> children = new ArrayList<>(node.children().size() + 2);
+        Component head = node;
+        if (node instanceof TextComponent) {
+            // Split the text at its markers; the pieces become children so they keep this node's style
+            String content = ((TextComponent) node).content();
+            int marker = firstMarker(content, values.length, 0);
+            if (marker >= 0) {
+                head = ((TextComponent) node).content(content.substring(0, marker));
+                while (marker >= 0) {
+                    children.add(values[content.charAt(marker) - MARKER_BASE]);
+                    int next = firstMarker(content, values.length, marker + 1);
+                    String literal = content.substring(marker + 1, next >= 0 ? next : content.length());
+                    if (!literal.isEmpty()) {
+                        children.add(Component.text(literal));
+                    }
+                    marker = next;
+                }
+            }
+        }
+        for (Component child : node.children()) {
+            children.add(fillSlots(child, values));
+        }
+        return head.children(children);
+    }
+
+    /**
+     * The source text with the values spliced in, as the non-template path would see it
+     */
+    public String fill(String... values) {
+        String text = source;
+        for (int i = 0; i < names.length && i < values.length; i++) {
+            text = text.replace("%" + names[i] + "%", values[i]);
+        }
+        return text;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Placeholder names, in the order {@link #render} takes their values
+     */
+    public List<String> getSlots() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Unfilled %placeholders% left in the source, which only PlaceholderAPI can fill
+     */
+    public boolean hasExternalPlaceholders() {
+        return externalPlaceholders;
+    }
+
+    public boolean isEmpty() {
+        return source.isEmpty();
+    }
+}
@@ -13,7 +13,9 @@ public class TextUtils {
 
     private static final MiniMessage miniMessage = MiniMessage.miniMessage();
     private static final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.legacySection();
-    private static final Pattern LEGACY_HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    private static final Pattern LEGACY_SECTION_PATTERN = Pattern.compile("§[0-9a-fk-or]");
+    private static final Pattern LEGACY_AMPERSAND_PATTERN = Pattern.compile("&[0-9a-fk-or]");
+    private static final ComponentCache componentCache = new ComponentCache(512);
     private static boolean hasPapi = false;
 
     /**
@@ -35,35 +37,7 @@ public class TextUtils {
      */
     public static String toMiniMessage(String text) {
         if (text == null) return "";
-
-        // Convert legacy hex codes &#RRGGBB to <#RRGGBB>
-        text = LEGACY_HEX_PATTERN.matcher(text).replaceAll("<#$1>");
-
-        // Convert legacy color codes to MiniMessage tags
-        text = text.replace("&0", "<black>");
-        text = text.replace("&1", "<dark_blue>");
-        text = text.replace("&2", "<dark_green>");
-        text = text.replace("&3", "<dark_aqua>");
-        text = text.replace("&4", "<dark_red>");
-        text = text.replace("&5", "<dark_purple>");
-        text = text.replace("&6", "<gold>");
-        text = text.replace("&7", "<gray>");
-        text = text.replace("&8", "<dark_gray>");
-        text = text.replace("&9", "<blue>");
-        text = text.replace("&a", "<green>");
-        text = text.replace("&b", "<aqua>");
-        text = text.replace("&c", "<red>");
-        text = text.replace("&d", "<light_purple>");
-        text = text.replace("&e", "<yellow>");
-        text = text.replace("&f", "<white>");
-        text = text.replace("&k", "<obfuscated>");
-        text = text.replace("&l", "<bold>");
-        text = text.replace("&m", "<strikethrough>");
-        text = text.replace("&n", "<underline>");
-        text = text.replace("&o", "<italic>");
-        text = text.replace("&r", "<reset>");
-
-        return text;
+        return LegacyTranslator.translate(text, false);
     }
 
     /**
@@ -73,25 +47,44 @@ public class TextUtils {
         if (text == null) return "";
 
         // Remove any remaining legacy codes that might cause issues
-        text = text.replaceAll("§[0-9a-fk-or]", "");
-        text = text.replaceAll("&[0-9a-fk-or]", "");
+        text = LEGACY_SECTION_PATTERN.matcher(text).replaceAll("");
+        text = LEGACY_AMPERSAND_PATTERN.matcher(text).replaceAll("");
 
         return text;
     }
 
     /**
-     * Parse MiniMessage string to Component with proper error handling
+     * Convert legacy formats and drop leftover codes in one pass; same result as cleanForMiniMessage(toMiniMessage(text))
+     */
+    public static String translateLegacy(String text) {
+        if (text == null) return "";
+        return LegacyTranslator.translate(text, true);
+    }
+
+    /**
+     * Bound the parsed component cache, from performance.component-cache-size; 0 disables it
+     */
+    public static void setComponentCacheSize(int size) {
+        componentCache.setMaximumSize(size);
+    }
+
+    public static ComponentCache getComponentCache() {
+        return componentCache;
+    }
+
+    /**
+     * Parse MiniMessage string to Component with proper error handling; repeated texts come from the cache
      */
     public static Component parseMiniMessage(String text) {
         if (text == null || text.isEmpty()) {
             return Component.empty();
         }
+        return componentCache.get(text, TextUtils::parseUncached);
+    }
 
+    private static Component parseUncached(String text) {
         try {
-            String miniMessageText = toMiniMessage(text);
-            // Clean any remaining legacy codes
-            miniMessageText = cleanForMiniMessage(miniMessageText);
-            return miniMessage.deserialize(miniMessageText);
+            return miniMessage.deserialize(translateLegacy(text));
         } catch (Exception e) {
             // Fallback to legacy parsing if MiniMessage fails
             try {
@@ -174,6 +167,19 @@ public class TextUtils {
         }
     }
 
+    /**
+     * Send an already rendered message; the console gets it as legacy text
+     */
+    public static void sendMessage(CommandSender sender, Component component) {
+        if (sender == null || component == null) return;
+
+        if (sender instanceof Player) {
+            ((Player) sender).sendMessage(component);
+        } else {
+            sender.sendMessage(legacySerializer.serialize(component));
+        }
+    }
+
     /**
      * Send a MiniMessage formatted action bar to a player with PlaceholderAPI support
      */
@@ -196,6 +202,19 @@ public class TextUtils {
         }
     }
 
+    /**
+     * Send a compiled action bar template to a player, one value per placeholder name
+     */
+    public static void sendActionBar(Player player, TextTemplate template, String... values) {
+        if (player == null || template == null || template.getSource().isEmpty()) return;
+
+        try {
+            player.sendActionBar(template.render(player, values));
+        } catch (Exception e) {
+            sendActionBar(player, template.fill(values));
+        }
+    }
+
     /**
      * Remove color codes from text
      */
@@ -206,10 +225,10 @@ public class TextUtils {
             // Convert to legacy and strip
             Component component = parseMiniMessage(text);
             String legacyText = legacySerializer.serialize(component);
-            return legacyText.replaceAll("§[0-9a-fk-or]", "");
+            return LEGACY_SECTION_PATTERN.matcher(legacyText).replaceAll("");
         } catch (Exception e) {
             // Fallback to simple stripping
-            return text.replaceAll("§[0-9a-fk-or]", "").replaceAll("&[0-9a-fk-or]", "");
+            return cleanForMiniMessage(text);
         }
     }
 
@@ -323,6 +342,6 @@ public class TextUtils {
      * Close method for compatibility
      */
     public static void close() {
-        // No resources to close
+        componentCache.clear();
     }
 }
\ No newline at end of file
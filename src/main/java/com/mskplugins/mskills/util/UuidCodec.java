@@ -0,0 +1,46 @@
+package com.mskplugins.mskills.util;
+
+import java.util.UUID;
+
+public class UuidCodec {
+
+    private UuidCodec() {
+    }
+
+    /**
+     * Encode a UUID as 16 big-endian bytes (BINARY(16) / BLOB column format)
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return toBytes(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Encode UUID halves as 16 big-endian bytes
+     */
+    public static byte[] toBytes(long mostSigBits, long leastSigBits) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (mostSigBits >>> (56 - (i << 3)));
+            bytes[i + 8] = (byte) (leastSigBits >>> (56 - (i << 3)));
+        }
+        return bytes;
+    }
+
+    /**
+     * Decode 16 big-endian bytes back into a UUID
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("UUID must be exactly 16 bytes");
+        }
+        return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}